@@ -0,0 +1,107 @@
+package com.qoder.minijira.common.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the issue list envelope, with an ObjectMapper configured like Spring Boot's.
+ * The converter benchmarks write to a discarding stream, as the servlet response would; run with
+ * {@code -Djmh.args="ApiResponseSerialization -prof gc"} to compare allocation per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<IssueResponse>> response;
+    private Type responseType;
+    private MappingJackson2HttpMessageConverter defaultConverter;
+    private ApiResponseMessageConverter apiResponseConverter;
+    private HttpOutputMessage outputMessage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<IssueResponse> issues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            issues.add(new IssueResponse((long) i, "Issue title " + i,
+                    "A description long enough to look like a real issue body, number " + i,
+                    IssueStatus.values()[i % IssueStatus.values().length],
+                    IssuePriority.values()[i % IssuePriority.values().length], 0L));
+        }
+        response = ApiResponse.success(issues);
+        responseType = ResolvableType.forClassWithGenerics(ApiResponse.class,
+                ResolvableType.forClassWithGenerics(List.class, IssueResponse.class)).getType();
+        defaultConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        apiResponseConverter = new ApiResponseMessageConverter(objectMapper);
+        outputMessage = new DiscardingOutputMessage();
+    }
+
+    @Benchmark
+    public byte[] serializeIssueList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public HttpOutputMessage writeWithDefaultConverter() throws IOException {
+        outputMessage.getHeaders().clear();
+        defaultConverter.write(response, responseType, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+
+    @Benchmark
+    public HttpOutputMessage writeWithApiResponseConverter() throws IOException {
+        outputMessage.getHeaders().clear();
+        apiResponseConverter.write(response, responseType, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.qoder.minijira.issue.dto;
+
+import com.qoder.minijira.issue.entity.Issue;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueResponseMappingBenchmark {
+
+    private Issue issue;
+
+    @Setup
+    public void setUp() {
+        issue = new Issue();
+        ReflectionTestUtils.setField(issue, "id", 1L);
+        issue.setTitle("Fix login redirect");
+        issue.setDescription("Users are sent back to the login page after a successful sign-in.");
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        issue.setPriority(IssuePriority.HIGH);
+    }
+
+    @Benchmark
+    public IssueResponse from() {
+        return IssueResponse.from(issue);
+    }
+}
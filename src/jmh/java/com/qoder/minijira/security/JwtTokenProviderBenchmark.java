@@ -0,0 +1,69 @@
+package com.qoder.minijira.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public JwtTokenProvider API as used on the login and request paths.
+ * <p>
+ * The verifying benchmarks cycle through far more distinct tokens than the verified-token cache
+ * holds, so nearly every call pays for the signature check and claim parsing. The cached path is
+ * measured by {@link JwtVerificationBenchmark#cachedVerify}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-signing-must-be-at-least-256-bits";
+    private static final int CACHE_SIZE = 64;
+    // Power of two, 64 times the cache.
+    private static final int TOKEN_COUNT = 4096;
+
+    private JwtTokenProvider provider;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3600000, CACHE_SIZE);
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = provider.createToken((long) i, "benchmark-user-" + i, "ROLE_USER");
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return provider.createToken(42L, "benchmark-user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return provider.isTokenValid(nextToken());
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return provider.getSubject(nextToken());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) & (TOKEN_COUNT - 1);
+        return token;
+    }
+}
@@ -0,0 +1,71 @@
+package com.qoder.minijira.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token, before and after single-pass cached verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-signing-must-be-at-least-256-bits";
+
+    private Key key;
+    private JwtParser sharedParser;
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        sharedParser = Jwts.parserBuilder().setSigningKey(key).build();
+        provider = new JwtTokenProvider(SECRET, 3600000, 10000);
+        token = provider.createToken(42L, "benchmark-user", "ROLE_USER");
+        provider.verify(token);
+    }
+
+    /** Previous filter path: isTokenValid + getSubject, each building a parser and checking the HMAC. */
+    @Benchmark
+    public String legacyValidateThenGetSubject() {
+        Claims first = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if (!first.getExpiration().after(new Date())) {
+            return null;
+        }
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    /** One parse with the reusable parser, i.e. what verify() pays on a cache miss. */
+    @Benchmark
+    public Claims singlePassVerify() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    /** Repeat request with the same bearer token: digest lookup only. */
+    @Benchmark
+    public Optional<VerifiedToken> cachedVerify() {
+        return provider.verify(token);
+    }
+}
@@ -0,0 +1,123 @@
+package com.qoder.minijira.common.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link ApiResponse} straight to the response stream. The common {@code code=0, message=ok}
+ * envelope is emitted as pre-encoded bytes, and the payload goes through an {@link ObjectWriter}
+ * resolved once per declared payload type instead of once per request. Output is identical to the
+ * default Jackson converter; the envelope field names are fixed, so a global naming strategy would
+ * not apply to them.
+ */
+@Component
+public class ApiResponseMessageConverter extends AbstractGenericHttpMessageConverter<ApiResponse<?>> {
+
+    private static final byte[] SUCCESS_PREFIX = "{\"code\":0,\"message\":\"ok\",\"data\":"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final int END_OBJECT = '}';
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ApiResponseMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public ApiResponse<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is write-only", inputMessage);
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        Object data = response.getData();
+        boolean ok = response.getCode() == 0 && "ok".equals(response.getMessage());
+        if (ok) {
+            body.write(SUCCESS_PREFIX);
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            if (!ok) {
+                generator.writeStartObject();
+                generator.writeNumberField("code", response.getCode());
+                generator.writeStringField("message", response.getMessage());
+                generator.writeFieldName("data");
+            }
+            if (data == null) {
+                generator.writeNull();
+            } else {
+                writerFor(type).writeValue(generator, data);
+            }
+            if (!ok) {
+                generator.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new HttpMessageNotWritableException("Could not write ApiResponse: " + e.getMessage(), e);
+        }
+        if (ok) {
+            body.write(END_OBJECT);
+        }
+    }
+
+    private ObjectWriter writerFor(Type type) {
+        if (type == null) {
+            return objectMapper.writer();
+        }
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(type, this::createWriter);
+        }
+        return writer;
+    }
+
+    private ObjectWriter createWriter(Type type) {
+        ResolvableType payload = ResolvableType.forType(type).as(ApiResponse.class).getGeneric(0);
+        Class<?> payloadClass = payload.resolve();
+        if (payloadClass == null || payloadClass == Object.class || payload.hasUnresolvableGenerics()) {
+            // Raw ApiResponse, wildcards or type variables: serialize by runtime class.
+            return objectMapper.writer();
+        }
+        return objectMapper.writerFor(objectMapper.constructType(payload.getType()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.qoder.minijira.common.api;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets the ETag and returns {@code true} (with status 304) when it matches {@code If-None-Match}.
+     * Responses are marked private/no-cache so browsers keep them but always revalidate; Spring
+     * Security's default no-store header would otherwise stop clients from sending the ETag back.
+     */
+    public static boolean notModified(ServletWebRequest request, String etag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * A weak ETag over the values a response body is built from. Computed from the body itself, the
+     * tag always describes the data it is sent with, including data served from a cache.
+     */
+    public static String contentETag(String kind, Object id, Iterable<?> values) {
+        // 64-bit FNV-1a, with a separator after each value so adjacent values cannot run together.
+        long hash = 0xcbf29ce484222325L;
+        for (Object value : values) {
+            String text = String.valueOf(value);
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1f) * 0x100000001b3L;
+        }
+        return weakETag(kind, id, Long.toHexString(hash));
+    }
+
+    public static String weakETag(Object... parts) {
+        StringBuilder value = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                value.append('-');
+            }
+            value.append(parts[i]);
+        }
+        return value.append('"').toString();
+    }
+}
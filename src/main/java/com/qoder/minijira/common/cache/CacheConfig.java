@@ -0,0 +1,44 @@
+package com.qoder.minijira.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROJECTS = "projects";
+    public static final String PROJECT_ISSUES = "projectIssues";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.projects.max-size:10000}") long projectsMaxSize,
+                                     @Value("${cache.projects.ttl-seconds:600}") long projectsTtlSeconds,
+                                     @Value("${cache.project-issues.max-weight:50000}") long issuesMaxWeight,
+                                     @Value("${cache.project-issues.ttl-seconds:300}") long issuesTtlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; @Cacheable on an unknown name fails fast.
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(PROJECTS, Caffeine.newBuilder()
+                .maximumSize(projectsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(projectsTtlSeconds))
+                .recordStats()
+                .build());
+        // Issue lists are weighed by their length so a few huge boards cannot crowd out the heap.
+        cacheManager.registerCustomCache(PROJECT_ISSUES, Caffeine.newBuilder()
+                .maximumWeight(issuesMaxWeight)
+                .weigher((Object key, Object value) -> value instanceof Collection<?> list ? list.size() + 1 : 1)
+                .expireAfterWrite(Duration.ofSeconds(issuesTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,59 @@
+package com.qoder.minijira.common.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the small, rarely changing rows nearly every request reads:
+ * projects and users. Regions are created here with explicit sizes and TTLs, and Hibernate is set
+ * to fail on any region it was not given (see {@code spring.jpa.properties.hibernate.javax.cache}).
+ * Hit/miss/put counts per region are exported as {@code hibernate.second.level.cache.*} and
+ * {@code hibernate.cache.natural.id.*} metrics.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String PROJECT_REGION = "entity.project";
+    public static final String USER_REGION = "entity.user";
+    public static final String USER_USERNAME_REGION = "entity.user.username";
+
+    // One manager per application context, so test contexts never share or close each other's regions.
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${cache.entities.projects.max-size:10000}") long projectsMaxSize,
+                                           @Value("${cache.entities.projects.ttl-seconds:600}") long projectsTtlSeconds,
+                                           @Value("${cache.entities.users.max-size:50000}") long usersMaxSize,
+                                           @Value("${cache.entities.users.ttl-seconds:600}") long usersTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("mini-jira:entity-cache:" + UUID.randomUUID()),
+                        EntityCacheConfig.class.getClassLoader());
+        cacheManager.createCache(PROJECT_REGION, region(projectsMaxSize, projectsTtlSeconds));
+        cacheManager.createCache(USER_REGION, region(usersMaxSize, usersTtlSeconds));
+        cacheManager.createCache(USER_USERNAME_REGION, region(usersMaxSize, usersTtlSeconds));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        // Bounds staleness from writes this instance never sees (other instances, manual SQL).
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return configuration;
+    }
+}
@@ -0,0 +1,68 @@
+package com.qoder.minijira.common.cache;
+
+import com.qoder.minijira.common.db.ReadReplicas;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.project.event.ProjectChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Evicts exactly the cached project and issue-list entries touched by a write, after it commits.
+ * With read replicas, a read in the replication window can cache the old row again, so each
+ * eviction is repeated once the replicas are guaranteed to have caught up.
+ */
+@Component
+public class ReadCacheInvalidator {
+
+    private final Cache projects;
+    private final Cache projectIssues;
+    private final TaskScheduler taskScheduler;
+    private final Duration replicaStaleness;
+
+    public ReadCacheInvalidator(CacheManager cacheManager, TaskScheduler taskScheduler,
+                                ObjectProvider<ReadReplicas> readReplicas) {
+        this.projects = cacheManager.getCache(CacheConfig.PROJECTS);
+        this.projectIssues = cacheManager.getCache(CacheConfig.PROJECT_ISSUES);
+        this.taskScheduler = taskScheduler;
+        ReadReplicas replicas = readReplicas.getIfAvailable();
+        this.replicaStaleness = replicas == null ? null : Duration.ofMillis(replicas.getStalenessWindowMs());
+    }
+
+    @TransactionalEventListener
+    public void onIssueChanged(IssueChangedEvent event) {
+        evict(projectIssues, event.getProjectId());
+    }
+
+    @TransactionalEventListener
+    public void onIssuesBulkUpdated(IssuesBulkUpdatedEvent event) {
+        event.getProjectIds().forEach(projectId -> evict(projectIssues, projectId));
+    }
+
+    @TransactionalEventListener
+    public void onProjectChanged(ProjectChangedEvent event) {
+        switch (event.getType()) {
+            case UPDATED -> evict(projects, event.getProjectId());
+            case DELETED -> {
+                evict(projects, event.getProjectId());
+                evict(projectIssues, event.getProjectId());
+            }
+            case CREATED -> {
+            }
+        }
+    }
+
+    private void evict(Cache cache, Long key) {
+        cache.evict(key);
+        if (replicaStaleness != null) {
+            taskScheduler.schedule(() -> cache.evict(key), Instant.now().plus(replicaStaleness));
+        }
+    }
+}
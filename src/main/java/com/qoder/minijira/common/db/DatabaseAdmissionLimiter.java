@@ -0,0 +1,126 @@
+package com.qoder.minijira.common.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database admission control: no more requests hold a connection at once than the pool has connections.
+ * The rest queue in FIFO order and are rejected when the queue is too long or the wait times out, so
+ * request threads do not pile up on the connection pool.
+ * <p>
+ * Each pool has its own limiter. This bean is the primary's ({@code spring.datasource}); the replicas'
+ * are created by {@link ReadReplicaConfig}, sized to their own pools.
+ */
+@Component
+public class DatabaseAdmissionLimiter implements MeterBinder {
+
+    private final String pool;
+    private final int permits;
+    private final int maxQueue;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejectedCounter;
+
+    @Autowired
+    public DatabaseAdmissionLimiter(@Value("${db.admission.max-concurrency:0}") int maxConcurrency,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                    @Value("${db.admission.max-queue:200}") int maxQueue,
+                                    @Value("${db.admission.acquire-timeout-ms:1000}") long acquireTimeoutMs) {
+        this("primary", maxConcurrency > 0 ? maxConcurrency : poolSize, maxQueue, acquireTimeoutMs);
+    }
+
+    public DatabaseAdmissionLimiter(String pool, int permits, int maxQueue, long acquireTimeoutMs) {
+        this.pool = pool;
+        this.permits = permits;
+        this.maxQueue = maxQueue;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    /**
+     * Takes a permit; the caller must {@link #release()} it afterwards.
+     */
+    public void acquire() throws DatabaseBusyException {
+        if (semaphore.tryAcquire()) {
+            recordWait(0);
+            return;
+        }
+        if (semaphore.getQueueLength() >= maxQueue) {
+            reject("Database admission queue is full");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        recordWait(System.nanoTime() - start);
+        if (!acquired) {
+            reject("Timed out waiting for database admission");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    /**
+     * Whether requests are queued for a permit; background jobs use it to give way to live traffic.
+     */
+    public boolean isSaturated() {
+        return semaphore.getQueueLength() > 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("db.admission.wait")
+                .description("Time spent waiting for a database admission permit")
+                .publishPercentileHistogram()
+                .tag("pool", pool)
+                .register(registry);
+        rejectedCounter = Counter.builder("db.admission.rejected")
+                .description("Requests rejected by the database admission limiter")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.admission.queue", semaphore, Semaphore::getQueueLength)
+                .description("Threads waiting for a database admission permit")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.admission.active", semaphore, s -> permits - s.availablePermits())
+                .description("Database admission permits currently held")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.admission.limit", semaphore, s -> permits)
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    private void recordWait(long nanos) {
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reject(String message) throws DatabaseBusyException {
+        Counter counter = rejectedCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+        throw new DatabaseBusyException(message);
+    }
+}
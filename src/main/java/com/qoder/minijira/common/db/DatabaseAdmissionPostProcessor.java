@@ -0,0 +1,31 @@
+package com.qoder.minijira.common.db;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in an {@link AdmissionControlledDataSource}. With read replicas
+ * enabled, {@link ReadReplicaConfig} wraps the primary and replica pools individually instead.
+ */
+@Component
+@ConditionalOnExpression("${db.admission.enabled:true} and !${db.replicas.enabled:false}")
+public class DatabaseAdmissionPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DatabaseAdmissionLimiter> limiter;
+
+    public DatabaseAdmissionPostProcessor(ObjectProvider<DatabaseAdmissionLimiter> limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+            return new AdmissionControlledDataSource(dataSource, limiter.getObject());
+        }
+        return bean;
+    }
+}
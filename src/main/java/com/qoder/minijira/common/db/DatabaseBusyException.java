@@ -0,0 +1,13 @@
+package com.qoder.minijira.common.db;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Database admission was refused: the queue was full or no permit came up within the timeout.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
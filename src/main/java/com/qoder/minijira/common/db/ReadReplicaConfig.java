@@ -0,0 +1,113 @@
+package com.qoder.minijira.common.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting: {@code @Transactional(readOnly = true)} transactions run on read replicas, all
+ * others on the primary.
+ * <p>
+ * The application sees a single DataSource ({@link LazyConnectionDataSourceProxy}) that defers fetching a
+ * connection until the first statement, when it is known whether the transaction is read-only, and then
+ * picks the primary or the {@link ReplicaRoutingDataSource}. The pools are not beans, so statement
+ * tracking still wraps just that one DataSource. Admission control has to know which pool a connection
+ * comes from, so the primary and every replica get their own {@link DatabaseAdmissionLimiter} here,
+ * sized to their own pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "db.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    // HikariConfig reports -1 until the pool starts and falls back to this size.
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public ReadReplicas readReplicas(DataSourceProperties properties,
+                                     Environment environment,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${db.replicas.urls}") List<String> urls,
+                                     @Value("${db.replicas.username:${spring.datasource.username:}}") String username,
+                                     @Value("${db.replicas.password:${spring.datasource.password:}}") String password,
+                                     @Value("${db.replicas.pool-size:0}") int poolSize,
+                                     @Value("${db.replicas.max-lag-ms:3000}") long maxLagMs,
+                                     @Value("${db.replicas.heartbeat-interval-ms:1000}") long heartbeatIntervalMs) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            if (poolSize > 0) {
+                replica.setMaximumPoolSize(poolSize);
+            }
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReadReplicas(primary, replicas, maxLagMs, heartbeatIntervalMs, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicas readReplicas,
+                                                       @Value("${db.replicas.sticky-max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(readReplicas.getStalenessWindowMs(), maxUsers);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicas readReplicas, ReadYourWritesTracker readYourWrites,
+                                 MeterRegistry meterRegistry,
+                                 DatabaseAdmissionLimiter primaryLimiter,
+                                 @Value("${db.admission.enabled:true}") boolean admissionEnabled,
+                                 @Value("${db.admission.max-queue:200}") int maxQueue,
+                                 @Value("${db.admission.acquire-timeout-ms:1000}") long acquireTimeoutMs) {
+        DataSource primary = admissionEnabled
+                ? new AdmissionControlledDataSource(readReplicas.getPrimary(), primaryLimiter)
+                : readReplicas.getPrimary();
+        Map<String, DataSource> replicas = new HashMap<>();
+        for (ReadReplicas.Replica replica : readReplicas.getReplicas()) {
+            DataSource target = replica.getDataSource();
+            if (admissionEnabled) {
+                int poolSize = replica.getDataSource().getMaximumPoolSize();
+                DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(replica.getName(),
+                        poolSize > 0 ? poolSize : HIKARI_DEFAULT_POOL_SIZE, maxQueue, acquireTimeoutMs);
+                limiter.bindTo(meterRegistry);
+                target = new AdmissionControlledDataSource(target, limiter);
+            }
+            replicas.put(replica.getName(), target);
+        }
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readYourWrites.trackWrites(primary));
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(readReplicas, primary, replicas, readYourWrites, meterRegistry));
+        return dataSource;
+    }
+}
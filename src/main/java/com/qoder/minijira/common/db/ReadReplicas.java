@@ -0,0 +1,146 @@
+package com.qoder.minijira.common.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The primary and replica connection pools, and replica lag detection. The primary periodically writes
+ * the current time into the replica_heartbeat table; the difference between the time read on a replica
+ * and now is its replication lag. Replicas lagging more than max-lag-ms, or whose heartbeat cannot be
+ * read, take no reads.
+ * <p>
+ * The heartbeat runs on its own thread rather than the shared {@code @Scheduled} one: while a long job
+ * such as archiving holds that thread, a stalled heartbeat would make every replica look behind and send
+ * all reads back to the primary.
+ */
+public class ReadReplicas {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final long heartbeatIntervalMs;
+    private final JdbcTemplate primaryJdbc;
+    private final ThreadPoolTaskScheduler heartbeatScheduler;
+    private volatile boolean heartbeatTableReady;
+
+    public ReadReplicas(HikariDataSource primary, List<HikariDataSource> replicaPools, long maxLagMs,
+                        long heartbeatIntervalMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).collect(Collectors.toList());
+        this.maxLagMs = maxLagMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.primaryJdbc = new JdbcTemplate(primary);
+
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                    .description("Replication lag measured from the heartbeat row; -1 when unreachable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+
+        this.heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setThreadNamePrefix("replica-heartbeat-");
+        heartbeatScheduler.initialize();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatIntervalMs));
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * How far replica data may trail the primary: the maximum allowed lag plus one heartbeat interval.
+     */
+    public long getStalenessWindowMs() {
+        return maxLagMs + heartbeatIntervalMs;
+    }
+
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            writeHeartbeat(now);
+        } catch (RuntimeException e) {
+            // Lag cannot be measured while the primary is down; keep the previous results.
+            log.warn("Failed to write replica heartbeat: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            replica.check(now, maxLagMs);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeatScheduler.shutdown();
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private void writeHeartbeat(long now) {
+        if (!heartbeatTableReady) {
+            primaryJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+            heartbeatTableReady = true;
+        }
+        // A single upsert, so instances writing the heartbeat at once cannot collide on UPDATE-then-INSERT.
+        primaryJdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?) ON DUPLICATE KEY UPDATE beat_at = ?",
+                now, now);
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private volatile long lagMs = -1;
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        void check(long now, long maxLagMs) {
+            boolean wasHealthy = healthy;
+            try {
+                List<Long> beats = jdbc.queryForList("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                lagMs = beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+            } catch (RuntimeException e) {
+                lagMs = -1;
+            }
+            healthy = lagMs >= 0 && lagMs <= maxLagMs;
+            if (wasHealthy != healthy) {
+                log.warn("Read replica {} is now {} (lag {} ms)", name, healthy ? "in rotation" : "out of rotation", lagMs);
+            }
+        }
+    }
+}
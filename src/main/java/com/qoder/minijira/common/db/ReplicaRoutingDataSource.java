@@ -0,0 +1,72 @@
+package com.qoder.minijira.common.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection source for read-only transactions: round-robin over replicas within the allowed lag, falling
+ * back to the primary when the current user has just written data or no replica is available.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final ReadReplicas readReplicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(ReadReplicas readReplicas, DataSource primary, Map<String, DataSource> replicaTargets,
+                                    ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.readReplicas = readReplicas;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>(replicaTargets);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.replicaReads = readCounter(meterRegistry, "replica", "replica");
+        this.stickyReads = readCounter(meterRegistry, "primary", "read_your_writes");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no_healthy_replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWrites.isSticky()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        List<ReadReplicas.Replica> replicas = readReplicas.getReplicas();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReadReplicas.Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                replicaReads.increment();
+                return replica.getName();
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing.reads")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.qoder.minijira.common.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread counts of the JDBC statements passing through {@link StatementTrackingDataSource}. Captures
+ * may nest; a statement counts towards every capture open on the current thread. MockMvc runs requests
+ * on the test thread, so a test can pin the number of queries like this:
+ * <pre>{@code
+ * try (SqlStatementStats stats = SqlStatements.capture()) {
+ *     mockMvc.perform(get("/api/projects/1"));
+ *     assertThat(stats.getStatementCount()).isEqualTo(1);
+ * }
+ * }</pre>
+ */
+public final class SqlStatements {
+
+    private static final ThreadLocal<List<SqlStatementStats>> ACTIVE = new ThreadLocal<>();
+
+    private SqlStatements() {
+    }
+
+    public static SqlStatementStats capture() {
+        List<SqlStatementStats> active = ACTIVE.get();
+        if (active == null) {
+            active = new ArrayList<>(2);
+            ACTIVE.set(active);
+        }
+        SqlStatementStats stats = new SqlStatementStats();
+        active.add(stats);
+        return stats;
+    }
+
+    static boolean isCapturing() {
+        return ACTIVE.get() != null;
+    }
+
+    static void record(String sql, long nanos) {
+        List<SqlStatementStats> active = ACTIVE.get();
+        if (active != null) {
+            for (SqlStatementStats stats : active) {
+                stats.record(sql, nanos);
+            }
+        }
+    }
+
+    static void end(SqlStatementStats stats) {
+        List<SqlStatementStats> active = ACTIVE.get();
+        if (active != null) {
+            active.remove(stats);
+            if (active.isEmpty()) {
+                ACTIVE.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.qoder.minijira.common.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and time of every HTTP request, and logs a warning and counts it when the
+ * request exceeds the budget or repeats one query shape up to the threshold (the typical N+1).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "db.statement-tracking", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final int maxStatements;
+    private final int repeatedThreshold;
+    private final DistributionSummary statementsPerRequest;
+    private final Counter overBudgetCounter;
+    private final Counter repeatedCounter;
+
+    public StatementBudgetFilter(MeterRegistry meterRegistry,
+                                 @Value("${db.statement-tracking.max-statements:20}") int maxStatements,
+                                 @Value("${db.statement-tracking.repeated-threshold:5}") int repeatedThreshold) {
+        this.maxStatements = maxStatements;
+        this.repeatedThreshold = repeatedThreshold;
+        this.statementsPerRequest = DistributionSummary.builder("db.request.statements")
+                .description("SQL statements executed per HTTP request")
+                .register(meterRegistry);
+        this.overBudgetCounter = Counter.builder("db.request.budget.exceeded")
+                .tag("reason", "budget")
+                .register(meterRegistry);
+        this.repeatedCounter = Counter.builder("db.request.budget.exceeded")
+                .tag("reason", "repeated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatements.capture();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            check(request, stats);
+        }
+    }
+
+    private void check(HttpServletRequest request, SqlStatementStats stats) {
+        int count = stats.getStatementCount();
+        if (count == 0) {
+            return;
+        }
+        statementsPerRequest.record(count);
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+        boolean overBudget = count > maxStatements;
+        boolean nPlusOne = repeated.getValue() >= repeatedThreshold;
+        if (overBudget) {
+            overBudgetCounter.increment();
+        }
+        if (nPlusOne) {
+            repeatedCounter.increment();
+        }
+        if (overBudget || nPlusOne) {
+            log.warn("{} {} ran {} SQL statements in {} ms (budget {}); most repeated {}x: {}",
+                    request.getMethod(), request.getRequestURI(), count, stats.getTotalTime().toMillis(),
+                    maxStatements, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.qoder.minijira.common.db;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records every JDBC statement passing through, with its execution time, for per-thread counting in
+ * {@link SqlStatements}. Without an open capture on the current thread the cost is one ThreadLocal lookup.
+ */
+public class StatementTrackingDataSource extends DelegatingDataSource {
+
+    public StatementTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection tracked(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && isStatementFactory(method)) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return trackedStatement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object trackedStatement(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute") || !SqlStatements.isCapturing()) {
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        SqlStatements.record(sql, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static boolean isStatementFactory(Method method) {
+        Class<?> type = method.getReturnType();
+        return type == Statement.class || type == PreparedStatement.class || type == CallableStatement.class;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.qoder.minijira.common.db;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link StatementTrackingDataSource}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "db.statement-tracking", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementTrackingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementTrackingDataSource)) {
+            return new StatementTrackingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -1,10 +1,16 @@
 package com.qoder.minijira.common.exception;
 
 import com.qoder.minijira.common.api.ApiResponse;
+import com.qoder.minijira.common.db.DatabaseBusyException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -19,8 +25,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ApiResponse<Void>> handleValidationException(MethodArgumentNotValidException ex) {
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusyException(ServiceBusyException ex) {
+        return serviceBusy(ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVersionConflictException(VersionConflictException ex) {
+        return conflict(ex.getMessage());
+    }
+
+    // Entity writes (e.g. deleting an issue) that lose an @Version race surface as a DataAccessException.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return conflict("The resource was modified concurrently, please reload and retry");
+    }
+
+    // MethodArgumentNotValidException (@RequestBody) is a BindException; plain BindException covers query objects.
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<ApiResponse<Void>> handleValidationException(BindException ex) {
         String message = ex.getBindingResult().getFieldErrors().stream()
                 .map(this::formatFieldError)
                 .collect(Collectors.joining(", "));
@@ -28,13 +51,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler({DataAccessException.class, TransactionException.class})
+    public ResponseEntity<ApiResponse<Void>> handleDataAccessException(Exception ex) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof DatabaseBusyException) {
+            return serviceBusy("Service busy, please retry later");
+        }
+        return handleOtherException(ex);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleOtherException(Exception ex) {
         ApiResponse<Void> response = ApiResponse.error(5000, "Internal server error");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    private ResponseEntity<ApiResponse<Void>> conflict(String message) {
+        ApiResponse<Void> response = ApiResponse.error(VersionConflictException.CODE, message);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    private ResponseEntity<ApiResponse<Void>> serviceBusy(String message) {
+        ApiResponse<Void> response = ApiResponse.error(ServiceBusyException.CODE, message);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     private String formatFieldError(FieldError error) {
-        return error.getField() + " " + (error.getDefaultMessage() == null ? "is invalid" : error.getDefaultMessage());
+        // Type conversion failures carry a long framework message; keep the response readable.
+        boolean invalid = error.isBindingFailure() || error.getDefaultMessage() == null;
+        return error.getField() + " " + (invalid ? "is invalid" : error.getDefaultMessage());
     }
 }
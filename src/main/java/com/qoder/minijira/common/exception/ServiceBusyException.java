@@ -0,0 +1,13 @@
+package com.qoder.minijira.common.exception;
+
+/**
+ * A resource is saturated; answered with 503 and a hint to retry later.
+ */
+public class ServiceBusyException extends BusinessException {
+
+    public static final int CODE = 5030;
+
+    public ServiceBusyException(String message) {
+        super(CODE, message);
+    }
+}
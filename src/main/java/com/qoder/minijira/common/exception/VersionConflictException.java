@@ -0,0 +1,14 @@
+package com.qoder.minijira.common.exception;
+
+/**
+ * The data was changed by another request after it was read; answered with 409, and the client should
+ * reload and retry.
+ */
+public class VersionConflictException extends BusinessException {
+
+    public static final int CODE = 4090;
+
+    public VersionConflictException(String message) {
+        super(CODE, message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.qoder.minijira.common.metrics;
+
+import com.qoder.minijira.common.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the request-facing services as {@code service.method}, tagged with
+ * the class, method, outcome ({@code success}, {@code business_error}, {@code error}) and the
+ * {@link BusinessException} code ({@code none} otherwise). Only calls through the Spring proxy are
+ * seen; calls a service makes to itself are part of the caller's timing.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.qoder.minijira.issue.service.IssueService.*(..))"
+            + " || execution(public * com.qoder.minijira.project.service.ProjectService.*(..))"
+            + " || execution(public * com.qoder.minijira.user.service.AuthService.*(..))"
+            + " || execution(public * com.qoder.minijira.dashboard.controller.DashboardController.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        String code = "none";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } catch (BusinessException e) {
+            outcome = "business_error";
+            code = String.valueOf(e.getCode());
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("Service method execution time")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("code", code)
+                    .register(meterRegistry));
+        }
+    }
+}
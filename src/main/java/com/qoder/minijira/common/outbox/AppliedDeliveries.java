@@ -0,0 +1,35 @@
+package com.qoder.minijira.common.outbox;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * One consumer's record of the outbox ids it has applied, used to skip replays. Outbox ids are
+ * assigned when the event is inserted, not when its transaction commits, so a delivery may arrive
+ * after a higher id of the same aggregate; only the exact id says whether it was applied before.
+ * <p>
+ * Ids are kept in memory for a bounded number of deliveries and expire {@code retention} after they
+ * were applied; a replay arriving after that is applied again.
+ */
+public class AppliedDeliveries {
+
+    private final Cache<Long, Boolean> applied;
+
+    public AppliedDeliveries(long maxDeliveries, Duration retention) {
+        this.applied = Caffeine.newBuilder()
+                .maximumSize(maxDeliveries)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Records the delivery as applied.
+     *
+     * @return false if it was applied before, in which case the caller should skip it
+     */
+    public boolean markApplied(OutboxDelivery<?> delivery) {
+        return applied.asMap().putIfAbsent(delivery.getOutboxId(), Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.qoder.minijira.common.outbox;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.time.Instant;
+
+/**
+ * A committed domain event delivered by {@link OutboxDispatcher}, outside of the request and its
+ * transaction. Listen with {@code @EventListener} on {@code OutboxDelivery<SomeEvent>}.
+ * Delivery is at-least-once, so listeners should tolerate replays: a delivery is retried with the
+ * same outbox id when any listener fails, including to listeners that already handled it. Listeners
+ * with non-idempotent effects can skip replays with {@link AppliedDeliveries}.
+ * <p>
+ * Events of one aggregate are delivered in outbox id order as far as they have committed. Ids are
+ * taken at insert time, so an event whose transaction commits late can still arrive after a higher
+ * id of the same aggregate.
+ */
+public class OutboxDelivery<T> implements ResolvableTypeProvider {
+
+    private final Long outboxId;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final Instant recordedAt;
+    private final T event;
+
+    public OutboxDelivery(Long outboxId, String aggregateType, Long aggregateId, Instant recordedAt, T event) {
+        this.outboxId = outboxId;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.recordedAt = recordedAt;
+        this.event = event;
+    }
+
+    public Long getOutboxId() {
+        return outboxId;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public T getEvent() {
+        return event;
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(event));
+    }
+}
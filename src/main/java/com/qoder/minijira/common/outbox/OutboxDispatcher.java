@@ -0,0 +1,248 @@
+package com.qoder.minijira.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox on a dedicated background thread and republishes each event as an
+ * {@link OutboxDelivery}. Committed events of one aggregate are delivered in id order: when one
+ * fails, later events of the same aggregate wait until it is retried successfully or dead-lettered.
+ * An event still uncommitted when a later id of its aggregate is delivered arrives after it.
+ * Runs as a single dispatcher per application instance.
+ */
+@Component
+public class OutboxDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final String EVENT_PACKAGE = "com.qoder.minijira.";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final Timer lagTimer;
+    private final Counter deliveredCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+    private volatile Instant oldestPendingAt;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.enabled:true}") boolean enabled,
+                            @Value("${outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                            @Value("${outbox.batch-size:200}") int batchSize,
+                            @Value("${outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                            @Value("${outbox.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+
+        this.lagTimer = Timer.builder("outbox.lag")
+                .description("Time from recording an outbox event to delivering it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("outbox.delivered").register(meterRegistry);
+        this.retryCounter = Counter.builder("outbox.retries")
+                .description("Failed deliveries scheduled for retry")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("outbox.dead")
+                .description("Events moved to FAILED after exhausting retries")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", outboxEventRepository, r -> r.countByStatus(OutboxEvent.Status.PENDING))
+                .description("Outbox events waiting to be delivered")
+                .register(meterRegistry);
+        Gauge.builder("outbox.oldest.age", this, d -> d.oldestPendingAgeSeconds())
+                .description("Age of the oldest pending outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Asks the dispatcher to drain now rather than at the next poll.
+     */
+    public void signal() {
+        wakeUp.release();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox dispatcher is disabled");
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "outbox-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                while (running && drainBatch()) {
+                    // keep draining while full batches make progress
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox dispatch failed, retrying in {} ms", pollIntervalMs, e);
+            }
+        }
+    }
+
+    /**
+     * @return true when another batch is likely waiting
+     */
+    boolean drainBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.findDeliverable(
+                OutboxEvent.Status.PENDING, now, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            oldestPendingAt = oldestPending();
+            return false;
+        }
+
+        Set<String> blockedAggregates = new HashSet<>();
+        List<Long> delivered = new ArrayList<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blockedAggregates.contains(aggregate)) {
+                continue;
+            }
+            try {
+                deliver(event);
+                delivered.add(event.getId());
+                lagTimer.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            } catch (Exception e) {
+                if (markFailed(event, e, now)) {
+                    blockedAggregates.add(aggregate);
+                }
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(delivered);
+            }
+            outboxEventRepository.saveAll(failed);
+        });
+        deliveredCounter.increment(delivered.size());
+        // Events backing off are not in the batch, so the oldest pending one is looked up separately.
+        oldestPendingAt = oldestPending();
+        return batch.size() == batchSize && !delivered.isEmpty();
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        if (!event.getEventType().startsWith(EVENT_PACKAGE)) {
+            throw new IllegalStateException("Unexpected outbox event type " + event.getEventType());
+        }
+        Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+        eventPublisher.publishEvent(new OutboxDelivery<>(event.getId(), event.getAggregateType(),
+                event.getAggregateId(), event.getCreatedAt(), payload));
+    }
+
+    /**
+     * @return true if the event will be retried (and therefore still blocks its aggregate)
+     */
+    private boolean markFailed(OutboxEvent event, Exception error, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            // Give up so the rest of the aggregate is not blocked forever; FAILED rows stay for inspection.
+            event.setStatus(OutboxEvent.Status.FAILED);
+            deadCounter.increment();
+            log.error("Outbox event {} ({}) failed {} times, giving up", event.getId(), event.getEventType(),
+                    attempts, error);
+            return false;
+        }
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(factor);
+        event.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+        retryCounter.increment();
+        log.warn("Outbox event {} ({}) failed, attempt {}/{}", event.getId(), event.getEventType(),
+                attempts, maxAttempts, error);
+        return true;
+    }
+
+    private Instant oldestPending() {
+        return outboxEventRepository.findFirstByStatusOrderByIdAsc(OutboxEvent.Status.PENDING)
+                .map(OutboxEvent::getCreatedAt)
+                .orElse(null);
+    }
+
+    private double oldestPendingAgeSeconds() {
+        Instant oldest = oldestPendingAt;
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.qoder.minijira.common.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Events that are due and not queued behind an earlier event of their aggregate that is still
+    // backing off, so a run of retrying events can never fill the batch and starve everything else.
+    // The subquery is served by outbox_events(aggregate_type, aggregate_id, id).
+    @Query("select e from OutboxEvent e where e.status = :status and e.nextAttemptAt <= :now"
+            + " and not exists (select w.id from OutboxEvent w where w.status = :status"
+            + " and w.aggregateType = e.aggregateType and w.aggregateId = e.aggregateId"
+            + " and w.id < e.id and w.nextAttemptAt > :now)"
+            + " order by e.id")
+    List<OutboxEvent> findDeliverable(@Param("status") OutboxEvent.Status status, @Param("now") Instant now,
+                                      Limit limit);
+
+    Optional<OutboxEvent> findFirstByStatusOrderByIdAsc(OutboxEvent.Status status);
+
+    // Committed events not yet delivered; their changes are already visible to a COUNT.
+    @Query("select e.id from OutboxEvent e where e.status = :status")
+    List<Long> findIdsByStatus(@Param("status") OutboxEvent.Status status);
+
+    long countByStatus(OutboxEvent.Status status);
+}
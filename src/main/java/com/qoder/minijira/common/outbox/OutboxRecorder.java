@@ -0,0 +1,76 @@
+package com.qoder.minijira.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.project.event.ProjectChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Writes domain events into the outbox table in the same transaction as the change itself.
+ * All events are keyed by project, so everything that happens to a project is delivered in order.
+ */
+@Component
+public class OutboxRecorder {
+
+    static final String AGGREGATE_PROJECT = "project";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    public OutboxRecorder(OutboxEventRepository outboxEventRepository, OutboxDispatcher dispatcher,
+                          ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.dispatcher = dispatcher;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onIssueChanged(IssueChangedEvent event) {
+        record(event.getProjectId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onIssuesBulkUpdated(IssuesBulkUpdatedEvent event) {
+        for (Long projectId : event.getProjectIds()) {
+            record(projectId, new IssuesBulkUpdatedEvent(Set.of(projectId), event.getAffected(),
+                    event.getAffectedUserIds()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        record(event.getProjectId(), event);
+    }
+
+    // Wake the dispatcher as soon as anything was recorded instead of waiting for the next poll.
+    @TransactionalEventListener
+    public void afterCommit(IssueChangedEvent event) {
+        dispatcher.signal();
+    }
+
+    @TransactionalEventListener
+    public void afterCommit(IssuesBulkUpdatedEvent event) {
+        dispatcher.signal();
+    }
+
+    @TransactionalEventListener
+    public void afterCommit(ProjectChangedEvent event) {
+        dispatcher.signal();
+    }
+
+    private void record(Long projectId, Object event) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(AGGREGATE_PROJECT, projectId,
+                    event.getClass().getName(), objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.qoder.minijira.dashboard.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qoder.minijira.common.outbox.AppliedDeliveries;
+import com.qoder.minijira.common.outbox.OutboxDelivery;
+import com.qoder.minijira.common.outbox.OutboxEvent;
+import com.qoder.minijira.common.outbox.OutboxEventRepository;
+import com.qoder.minijira.dashboard.dto.DashboardResponse;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.issue.repository.IssueRepository;
+import com.qoder.minijira.project.event.ProjectChangedEvent;
+import com.qoder.minijira.project.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves dashboard stats from per-user counters kept in memory. Counters are loaded with COUNT
+ * queries on first use, adjusted from committed issue/project events, and periodically reconciled
+ * against the database, a slice of users at a time, to repair any drift.
+ * <p>
+ * A COUNT already includes changes whose outbox event is committed but not yet delivered, so each
+ * load also records the ids of those pending events, read in the same snapshot, and their deliveries
+ * are skipped for that user. A delivery for a user whose counters are being loaded waits for the
+ * load to finish, so it is neither lost nor counted twice.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private final ProjectRepository projectRepository;
+    private final IssueRepository issueRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final Cache<Long, UserCounters> counters;
+    private final AppliedDeliveries appliedDeliveries;
+    private final int reconcileBatchSize;
+
+    // Only used by reconcile(), whose scheduled runs never overlap.
+    private long reconcileCursor;
+
+    public DashboardService(ProjectRepository projectRepository,
+                            IssueRepository issueRepository,
+                            OutboxEventRepository outboxEventRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${dashboard.counters.max-users:50000}") long maxUsers,
+                            @Value("${dashboard.counters.idle-expire-minutes:60}") long idleExpireMinutes,
+                            @Value("${dashboard.counters.reconcile-batch-size:500}") int reconcileBatchSize,
+                            @Value("${dashboard.counters.applied-deliveries:100000}") long appliedDeliveries) {
+        this.projectRepository = projectRepository;
+        this.issueRepository = issueRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        // Not read-only, so the snapshot is taken on the primary and not on a lagging replica.
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleExpireMinutes))
+                .build();
+        this.appliedDeliveries = new AppliedDeliveries(appliedDeliveries, Duration.ofMinutes(idleExpireMinutes));
+    }
+
+    public DashboardResponse getStats(Long userId) {
+        UserCounters userCounters = counters.get(userId, this::loadCounters);
+        return new DashboardResponse(userCounters.projects.get(), userCounters.issues.get(),
+                userCounters.assigned.get());
+    }
+
+    // Counters are fed from the outbox, off the request path. A delivery is retried when any listener
+    // fails, so replays are skipped here; reconcile() repairs whatever drift remains.
+    @EventListener
+    public void onIssueChanged(OutboxDelivery<IssueChangedEvent> delivery) {
+        if (!appliedDeliveries.markApplied(delivery)) {
+            return;
+        }
+        IssueChangedEvent event = delivery.getEvent();
+        long outboxId = delivery.getOutboxId();
+        switch (event.getType()) {
+            case CREATED -> {
+                adjust(event.getProjectOwnerId(), outboxId, 0, 1, 0);
+                adjust(event.getAssigneeId(), outboxId, 0, 0, 1);
+            }
+            case DELETED -> {
+                adjust(event.getProjectOwnerId(), outboxId, 0, -1, 0);
+                adjust(event.getAssigneeId(), outboxId, 0, 0, -1);
+            }
+            case UPDATED -> {
+                if (!Objects.equals(event.getPreviousAssigneeId(), event.getAssigneeId())) {
+                    adjust(event.getPreviousAssigneeId(), outboxId, 0, 0, -1);
+                    adjust(event.getAssigneeId(), outboxId, 0, 0, 1);
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onIssuesBulkUpdated(OutboxDelivery<IssuesBulkUpdatedEvent> delivery) {
+        // Archiving removes issues without saying how many belonged to whom; reload those users lazily.
+        counters.invalidateAll(delivery.getEvent().getAffectedUserIds());
+    }
+
+    @EventListener
+    public void onProjectChanged(OutboxDelivery<ProjectChangedEvent> delivery) {
+        if (!appliedDeliveries.markApplied(delivery)) {
+            return;
+        }
+        ProjectChangedEvent event = delivery.getEvent();
+        switch (event.getType()) {
+            case CREATED -> adjust(event.getOwnerId(), delivery.getOutboxId(), 1, 0, 0);
+            // How many issues each user loses is not known here; reload the owner and assignees lazily.
+            case DELETED -> {
+                counters.invalidate(event.getOwnerId());
+                if (event.getAssigneeIds() != null) {
+                    counters.invalidateAll(event.getAssigneeIds());
+                }
+            }
+            case UPDATED -> {
+            }
+        }
+    }
+
+    /**
+     * Recounts the next {@code reconcile-batch-size} cached users in user id order, wrapping around,
+     * so each run costs a bounded number of COUNT queries however many users are cached.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        List<Long> slice = nextReconcileSlice();
+        int[] corrected = new int[1];
+        for (Long userId : slice) {
+            // Reloading inside computeIfPresent holds back deliveries for this user until the new
+            // counters, and the pending events they already include, are in place.
+            counters.asMap().computeIfPresent(userId, (id, cached) -> {
+                UserCounters actual = loadCounters(id);
+                if (!actual.sameCounts(cached)) {
+                    corrected[0]++;
+                }
+                return actual;
+            });
+        }
+        if (!slice.isEmpty()) {
+            reconcileCursor = slice.size() < reconcileBatchSize ? 0 : slice.get(slice.size() - 1);
+        }
+        if (corrected[0] > 0) {
+            log.info("Dashboard counter reconciliation corrected {} of {} user(s)", corrected[0], slice.size());
+        }
+    }
+
+    private List<Long> nextReconcileSlice() {
+        long after = reconcileCursor;
+        List<Long> slice = counters.asMap().keySet().stream()
+                .filter(userId -> userId > after)
+                .sorted()
+                .limit(reconcileBatchSize)
+                .toList();
+        if (slice.isEmpty() && after > 0) {
+            reconcileCursor = 0;
+            return nextReconcileSlice();
+        }
+        return slice;
+    }
+
+    private void adjust(Long userId, long outboxId, long projects, long issues, long assigned) {
+        if (userId == null) {
+            return;
+        }
+        // Only adjust counters that are already loaded; absent users are counted fresh on next read.
+        // compute, unlike getIfPresent, waits for a load of the same user that is in progress.
+        counters.asMap().compute(userId, (id, userCounters) -> {
+            if (userCounters != null && !userCounters.pendingAtLoad.contains(outboxId)) {
+                userCounters.projects.addAndGet(projects);
+                userCounters.issues.addAndGet(issues);
+                userCounters.assigned.addAndGet(assigned);
+            }
+            return userCounters;
+        });
+    }
+
+    private UserCounters loadCounters(Long userId) {
+        return snapshotTemplate.execute(status -> new UserCounters(
+                projectRepository.countByOwnerIdAndDeletedAtIsNull(userId),
+                issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(userId),
+                issueRepository.countByAssigneeIdAndProjectDeletedAtIsNull(userId),
+                outboxEventRepository.findIdsByStatus(OutboxEvent.Status.PENDING)));
+    }
+
+    private static final class UserCounters {
+
+        private final AtomicLong projects;
+        private final AtomicLong issues;
+        private final AtomicLong assigned;
+        // Outbox events whose changes the counts above already include; kept rather than removed on
+        // delivery, as one event can adjust the same user twice (owner and assignee).
+        private final Set<Long> pendingAtLoad;
+
+        private UserCounters(long projects, long issues, long assigned, List<Long> pendingAtLoad) {
+            this.projects = new AtomicLong(projects);
+            this.issues = new AtomicLong(issues);
+            this.assigned = new AtomicLong(assigned);
+            this.pendingAtLoad = Set.copyOf(pendingAtLoad);
+        }
+
+        private boolean sameCounts(UserCounters other) {
+            return projects.get() == other.projects.get()
+                    && issues.get() == other.issues.get()
+                    && assigned.get() == other.assigned.get();
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.qoder.minijira.issue.controller;
 
 import com.qoder.minijira.common.api.ApiResponse;
+import com.qoder.minijira.common.api.ConditionalRequests;
 import com.qoder.minijira.issue.dto.IssueCreateRequest;
+import com.qoder.minijira.issue.dto.IssueExportFormat;
+import com.qoder.minijira.issue.dto.IssuePageResponse;
+import com.qoder.minijira.issue.dto.IssueQueryRequest;
 import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.dto.IssueSearchResponse;
 import com.qoder.minijira.issue.service.IssueService;
+import com.qoder.minijira.issue.service.IssueStreamBroadcaster;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,9 +33,11 @@ import java.util.List;
 public class IssueController {
 
     private final IssueService issueService;
+    private final IssueStreamBroadcaster issueStreamBroadcaster;
 
-    public IssueController(IssueService issueService) {
+    public IssueController(IssueService issueService, IssueStreamBroadcaster issueStreamBroadcaster) {
         this.issueService = issueService;
+        this.issueStreamBroadcaster = issueStreamBroadcaster;
     }
 
     @PostMapping
@@ -32,8 +48,70 @@ public class IssueController {
     }
 
     @GetMapping
-    public ApiResponse<List<IssueResponse>> listIssues(@PathVariable Long projectId) {
+    public ApiResponse<List<IssueResponse>> listIssues(@PathVariable Long projectId,
+                                                       @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                       @RequestParam(required = false) Integer page,
+                                                       @RequestParam(required = false) Integer pageSize,
+                                                       ServletWebRequest webRequest) {
+        if (includeArchived) {
+            return ApiResponse.success(issueService.listIssuesIncludingArchived(projectId, page, pageSize));
+        }
         List<IssueResponse> issues = issueService.listIssues(projectId);
+        if (ConditionalRequests.notModified(webRequest, issueService.getIssueListETag(projectId, issues))) {
+            return null;
+        }
         return ApiResponse.success(issues);
     }
+
+    @GetMapping("/page")
+    public ApiResponse<IssuePageResponse> listIssuesPage(@PathVariable Long projectId,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) String priority) {
+        IssuePageResponse page = issueService.listIssuesPage(projectId, limit, after, status, priority);
+        return ApiResponse.success(page);
+    }
+
+    @GetMapping("/query")
+    public ApiResponse<List<IssueResponse>> queryIssues(@PathVariable Long projectId, IssueQueryRequest request) {
+        List<IssueResponse> issues = issueService.queryIssues(projectId, request);
+        return ApiResponse.success(issues);
+    }
+
+    @GetMapping("/search")
+    public ApiResponse<IssueSearchResponse> searchIssues(@PathVariable Long projectId,
+                                                         @RequestParam(required = false) String q,
+                                                         @RequestParam(required = false) Integer page,
+                                                         @RequestParam(required = false) Integer pageSize) {
+        IssueSearchResponse response = issueService.searchIssues(projectId, q, page, pageSize);
+        return ApiResponse.success(response);
+    }
+
+    /**
+     * Live board updates as server-sent events: created / updated / deleted / resync.
+     * Browsers' EventSource resends Last-Event-ID on reconnect; other clients may pass lastEventId.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamIssues(@PathVariable Long projectId,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                   @RequestParam(required = false) String lastEventId) {
+        issueService.assertProjectExists(projectId);
+        return issueStreamBroadcaster.subscribe(projectId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/export")
+    public void exportIssues(@PathVariable Long projectId,
+                             @RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        IssueExportFormat exportFormat = IssueExportFormat.from(format);
+        // Validate before touching the response so errors still render as ApiResponse JSON.
+        issueService.assertProjectExists(projectId);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"project-" + projectId + "-issues." + exportFormat.getFileExtension() + "\"");
+        issueService.exportIssues(projectId, exportFormat, response.getOutputStream());
+    }
 }
@@ -1,9 +1,12 @@
 package com.qoder.minijira.issue.controller;
 
 import com.qoder.minijira.common.api.ApiResponse;
+import com.qoder.minijira.issue.dto.IssueBulkUpdateRequest;
+import com.qoder.minijira.issue.dto.IssueBulkUpdateResponse;
 import com.qoder.minijira.issue.dto.IssueResponse;
 import com.qoder.minijira.issue.dto.IssueUpdateRequest;
 import com.qoder.minijira.issue.service.IssueService;
+import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -22,6 +25,12 @@ public class IssueResourceController {
         return ApiResponse.success(response);
     }
 
+    @PatchMapping("/bulk")
+    public ApiResponse<IssueBulkUpdateResponse> bulkUpdateIssues(@Valid @RequestBody IssueBulkUpdateRequest request) {
+        IssueBulkUpdateResponse response = issueService.bulkUpdate(request);
+        return ApiResponse.success(response);
+    }
+
     @DeleteMapping("/{id}")
     public ApiResponse<Void> deleteIssue(@PathVariable Long id) {
         issueService.deleteIssue(id);
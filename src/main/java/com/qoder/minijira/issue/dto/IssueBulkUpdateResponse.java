@@ -0,0 +1,14 @@
+package com.qoder.minijira.issue.dto;
+
+public class IssueBulkUpdateResponse {
+
+    private long affected;
+
+    public IssueBulkUpdateResponse(long affected) {
+        this.affected = affected;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,28 @@
+package com.qoder.minijira.issue.dto;
+
+import java.util.List;
+
+public class IssuePageResponse {
+
+    private List<IssueResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public IssuePageResponse(List<IssueResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<IssueResponse> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,92 @@
+package com.qoder.minijira.issue.dto;
+
+import java.time.Instant;
+
+/**
+ * Parameters of the combined issue query: status and priority take comma-separated values, time ranges
+ * are ISO-8601 (start inclusive, end exclusive), and sort looks like updatedAt,desc.
+ */
+public class IssueQueryRequest {
+
+    private String status;
+    private String priority;
+    private Long assigneeId;
+    private Instant createdFrom;
+    private Instant createdTo;
+    private Instant updatedFrom;
+    private Instant updatedTo;
+    private String sort;
+    private Integer limit;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(Instant createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public Instant getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(Instant createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public Instant getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(Instant updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public Instant getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(Instant updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
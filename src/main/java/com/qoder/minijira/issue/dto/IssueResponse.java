@@ -1,5 +1,6 @@
 package com.qoder.minijira.issue.dto;
 
+import com.qoder.minijira.issue.entity.Issue;
 import com.qoder.minijira.issue.entity.IssuePriority;
 import com.qoder.minijira.issue.entity.IssueStatus;
 
@@ -10,13 +11,27 @@ public class IssueResponse {
     private String description;
     private IssueStatus status;
     private IssuePriority priority;
+    private Long version;
 
-    public IssueResponse(Long id, String title, String description, IssueStatus status, IssuePriority priority) {
+    public IssueResponse(Long id, String title, String description, IssueStatus status, IssuePriority priority,
+                         Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status;
         this.priority = priority;
+        this.version = version;
+    }
+
+    public static IssueResponse from(Issue issue) {
+        return new IssueResponse(
+                issue.getId(),
+                issue.getTitle(),
+                issue.getDescription(),
+                issue.getStatus(),
+                issue.getPriority(),
+                issue.getVersion()
+        );
     }
 
     public Long getId() {
@@ -38,4 +53,8 @@ public class IssueResponse {
     public IssuePriority getPriority() {
         return priority;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,34 @@
+package com.qoder.minijira.issue.dto;
+
+import java.util.List;
+
+public class IssueSearchResponse {
+
+    private List<IssueResponse> items;
+    private int page;
+    private int pageSize;
+    private boolean hasMore;
+
+    public IssueSearchResponse(List<IssueResponse> items, int page, int pageSize, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.pageSize = pageSize;
+        this.hasMore = hasMore;
+    }
+
+    public List<IssueResponse> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,42 @@
+package com.qoder.minijira.issue.dto;
+
+/**
+ * Payload of a project board SSE event. {@code issue} is set for created/updated,
+ * {@code issueId} for every issue event; a resync event carries neither and means
+ * "refetch the issue list".
+ */
+public class IssueStreamEvent {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RESYNC = "resync";
+
+    private final String type;
+    private final Long projectId;
+    private final Long issueId;
+    private final IssueResponse issue;
+
+    public IssueStreamEvent(String type, Long projectId, Long issueId, IssueResponse issue) {
+        this.type = type;
+        this.projectId = projectId;
+        this.issueId = issueId;
+        this.issue = issue;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public IssueResponse getIssue() {
+        return issue;
+    }
+}
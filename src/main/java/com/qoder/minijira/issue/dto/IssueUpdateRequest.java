@@ -3,6 +3,7 @@ package com.qoder.minijira.issue.dto;
 public class IssueUpdateRequest {
     private String status;
     private String priority;
+    private Long version;
 
     public String getStatus() {
         return status;
@@ -19,4 +20,12 @@ public class IssueUpdateRequest {
     public void setPriority(String priority) {
         this.priority = priority;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
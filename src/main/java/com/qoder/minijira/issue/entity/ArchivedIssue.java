@@ -0,0 +1,95 @@
+package com.qoder.minijira.issue.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Cold copy of a closed issue moved out of {@code issues} by the archiver. Rows keep the original id
+ * and are only written by the archiver's INSERT ... SELECT, so the entity is read-only.
+ */
+@Entity
+@Table(name = "issues_archive", indexes = {
+        @Index(name = "idx_issues_archive_project_id", columnList = "project_id, id")
+})
+public class ArchivedIssue {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private IssueStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private IssuePriority priority;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public IssuePriority getPriority() {
+        return priority;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -7,7 +7,12 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+        @Index(name = "idx_issues_project_status_id", columnList = "project_id, status, id"),
+        @Index(name = "idx_issues_project_priority_id", columnList = "project_id, priority, id"),
+        @Index(name = "idx_issues_project_updated_at", columnList = "project_id, updatedAt"),
+        @Index(name = "idx_issues_status_updated_at", columnList = "status, updatedAt")
+})
 public class Issue {
 
     @Id
@@ -42,6 +47,10 @@ public class Issue {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     public void prePersist() {
         Instant now = Instant.now();
@@ -113,4 +122,8 @@ public class Issue {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
 }
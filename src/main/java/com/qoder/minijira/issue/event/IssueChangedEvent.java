@@ -0,0 +1,55 @@
+package com.qoder.minijira.issue.event;
+
+/**
+ * Published by {@code IssueService} inside the writing transaction; listeners that must only see
+ * committed changes use {@code @TransactionalEventListener}.
+ */
+public class IssueChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long issueId;
+    private final Long projectId;
+    private final Long projectOwnerId;
+    private final Long assigneeId;
+    private final Long previousAssigneeId;
+
+    public IssueChangedEvent(Type type, Long issueId, Long projectId, Long projectOwnerId,
+                             Long assigneeId, Long previousAssigneeId) {
+        this.type = type;
+        this.issueId = issueId;
+        this.projectId = projectId;
+        this.projectOwnerId = projectOwnerId;
+        this.assigneeId = assigneeId;
+        this.previousAssigneeId = previousAssigneeId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getProjectOwnerId() {
+        return projectOwnerId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Long getPreviousAssigneeId() {
+        return previousAssigneeId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.qoder.minijira.issue.event;
+
+import java.util.Set;
+
+/**
+ * Published once per chunk of a bulk update, inside the chunk's transaction.
+ * <p>
+ * {@link com.qoder.minijira.issue.service.IssueArchiver} publishes it too, once per archived batch:
+ * to every listener, issues leaving the hot table look like a bulk change to them, since the
+ * projects' cached lists and boards must refresh either way. There is no separate archive event.
+ * {@code affected} is then the number of issues archived, and {@code affectedUserIds} lists the
+ * project owners and assignees whose issue counts dropped; it is empty for updates that only change
+ * status or priority.
+ */
+public class IssuesBulkUpdatedEvent {
+
+    private final Set<Long> projectIds;
+    private final int affected;
+    private final Set<Long> affectedUserIds;
+
+    public IssuesBulkUpdatedEvent(Set<Long> projectIds, int affected, Set<Long> affectedUserIds) {
+        this.projectIds = projectIds;
+        this.affected = affected;
+        this.affectedUserIds = affectedUserIds == null ? Set.of() : affectedUserIds;
+    }
+
+    public Set<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public Set<Long> getAffectedUserIds() {
+        return affectedUserIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.qoder.minijira.issue.repository;
+
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.entity.ArchivedIssue;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedIssueRepository extends JpaRepository<ArchivedIssue, Long> {
+
+    // Projected straight into the response DTO.
+    @Query("select new com.qoder.minijira.issue.dto.IssueResponse(a.id, a.title, a.description, a.status,"
+            + " a.priority, a.version) from ArchivedIssue a where a.id in :ids")
+    List<IssueResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByProjectId(Long projectId);
+
+    // Served by issues_archive(project_id, id).
+    @Query("select a.id from ArchivedIssue a where a.projectId = :projectId order by a.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    @Modifying
+    @Query("delete from ArchivedIssue a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Copies the rows server-side; nothing is loaded into the persistence context.
+    @Modifying(flushAutomatically = true)
+    @Query("insert into ArchivedIssue (id, title, description, status, priority, projectId, assigneeId,"
+            + " createdAt, updatedAt, version, archivedAt)"
+            + " select i.id, i.title, i.description, i.status, i.priority, i.project.id, i.assignee.id,"
+            + " i.createdAt, i.updatedAt, i.version, :archivedAt"
+            + " from Issue i where i.id in :ids")
+    int copyFromIssues(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+}
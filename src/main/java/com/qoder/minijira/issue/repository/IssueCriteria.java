@@ -0,0 +1,117 @@
+package com.qoder.minijira.issue.repository;
+
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Filters and sort order for {@link IssueQueryRepository#query}; null means unrestricted.
+ */
+public class IssueCriteria {
+
+    public enum SortField {
+        ID, CREATED_AT, UPDATED_AT, PRIORITY, STATUS, TITLE
+    }
+
+    private Long projectId;
+    private Set<IssueStatus> statuses;
+    private Set<IssuePriority> priorities;
+    private Long assigneeId;
+    private Instant createdFrom;
+    private Instant createdTo;
+    private Instant updatedFrom;
+    private Instant updatedTo;
+    private SortField sortField = SortField.ID;
+    private boolean descending;
+    private int limit;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Set<IssueStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Set<IssueStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Set<IssuePriority> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(Set<IssuePriority> priorities) {
+        this.priorities = priorities;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(Instant createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public Instant getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(Instant createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public Instant getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(Instant updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public Instant getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(Instant updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+
+    public SortField getSortField() {
+        return sortField;
+    }
+
+    public void setSortField(SortField sortField) {
+        this.sortField = sortField;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
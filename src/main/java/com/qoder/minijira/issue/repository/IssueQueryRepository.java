@@ -0,0 +1,14 @@
+package com.qoder.minijira.issue.repository;
+
+import com.qoder.minijira.issue.dto.IssueResponse;
+
+import java.util.List;
+
+public interface IssueQueryRepository {
+
+    /**
+     * Runs the query and projects straight into {@link IssueResponse}: filtering, sorting and LIMIT happen
+     * in one SQL statement and no Issue entity is loaded.
+     */
+    List<IssueResponse> query(IssueCriteria criteria);
+}
@@ -0,0 +1,95 @@
+package com.qoder.minijira.issue.repository;
+
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.entity.Issue;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class IssueQueryRepositoryImpl implements IssueQueryRepository {
+
+    private final EntityManager entityManager;
+
+    IssueQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<IssueResponse> query(IssueCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueResponse> query = cb.createQuery(IssueResponse.class);
+        Root<Issue> issue = query.from(Issue.class);
+
+        query.select(cb.construct(IssueResponse.class,
+                issue.get("id"), issue.get("title"), issue.get("description"),
+                issue.get("status"), issue.get("priority"), issue.get("version")));
+
+        // project.id / assignee.id resolve to the foreign key columns, no join is generated.
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(issue.get("project").get("id"), criteria.getProjectId()));
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            predicates.add(issue.get("status").in(criteria.getStatuses()));
+        }
+        if (criteria.getPriorities() != null && !criteria.getPriorities().isEmpty()) {
+            predicates.add(issue.get("priority").in(criteria.getPriorities()));
+        }
+        if (criteria.getAssigneeId() != null) {
+            predicates.add(cb.equal(issue.get("assignee").get("id"), criteria.getAssigneeId()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(issue.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(issue.get("createdAt"), criteria.getCreatedTo()));
+        }
+        if (criteria.getUpdatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(issue.get("updatedAt"), criteria.getUpdatedFrom()));
+        }
+        if (criteria.getUpdatedTo() != null) {
+            predicates.add(cb.lessThan(issue.get("updatedAt"), criteria.getUpdatedTo()));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        Expression<?> sortKey = sortExpression(cb, issue, criteria.getSortField());
+        List<Order> orders = new ArrayList<>();
+        orders.add(criteria.isDescending() ? cb.desc(sortKey) : cb.asc(sortKey));
+        if (criteria.getSortField() != IssueCriteria.SortField.ID) {
+            // Tie-breaker keeps the order stable across identical sort keys.
+            orders.add(criteria.isDescending() ? cb.desc(issue.get("id")) : cb.asc(issue.get("id")));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(criteria.getLimit())
+                .getResultList();
+    }
+
+    private Expression<?> sortExpression(CriteriaBuilder cb, Root<Issue> issue, IssueCriteria.SortField field) {
+        return switch (field) {
+            case ID -> issue.get("id");
+            case CREATED_AT -> issue.get("createdAt");
+            case UPDATED_AT -> issue.get("updatedAt");
+            case TITLE -> issue.get("title");
+            // Enums are stored as strings; rank them by workflow / severity instead of alphabetically.
+            case STATUS -> cb.<IssueStatus, Integer>selectCase(issue.get("status"))
+                    .when(IssueStatus.OPEN, 0)
+                    .when(IssueStatus.IN_PROGRESS, 1)
+                    .when(IssueStatus.RESOLVED, 2)
+                    .otherwise(3);
+            case PRIORITY -> cb.<IssuePriority, Integer>selectCase(issue.get("priority"))
+                    .when(IssuePriority.LOW, 0)
+                    .when(IssuePriority.MEDIUM, 1)
+                    .when(IssuePriority.HIGH, 2)
+                    .otherwise(3);
+        };
+    }
+}
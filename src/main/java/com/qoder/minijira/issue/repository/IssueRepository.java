@@ -1,16 +1,153 @@
 package com.qoder.minijira.issue.repository;
 
 import com.qoder.minijira.issue.entity.Issue;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
 import com.qoder.minijira.project.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface IssueRepository extends JpaRepository<Issue, Long> {
+public interface IssueRepository extends JpaRepository<Issue, Long>, IssueQueryRepository {
 
     List<Issue> findByProject(Project project);
 
-    long countByProjectOwnerId(Long ownerId);
+    // Keyset pages: each variant is served by (project_id, id), (project_id, status, id)
+    // or (project_id, priority, id), so the cost of a page does not depend on its depth.
+    List<Issue> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Limit limit);
 
-    long countByAssigneeId(Long assigneeId);
+    List<Issue> findByProjectIdAndStatusAndIdGreaterThanOrderByIdAsc(Long projectId, IssueStatus status,
+                                                                     Long afterId, Limit limit);
+
+    List<Issue> findByProjectIdAndPriorityAndIdGreaterThanOrderByIdAsc(Long projectId, IssuePriority priority,
+                                                                       Long afterId, Limit limit);
+
+    List<Issue> findByProjectIdAndStatusAndPriorityAndIdGreaterThanOrderByIdAsc(Long projectId, IssueStatus status,
+                                                                                IssuePriority priority,
+                                                                                Long afterId, Limit limit);
+
+    @Query("select i.id from Issue i where i.project.id = :projectId"
+            + " and (:status is null or i.status = :status)"
+            + " and (:priority is null or i.priority = :priority)"
+            + " and i.id > :afterId order by i.id")
+    List<Long> findIdsByFilter(@Param("projectId") Long projectId,
+                               @Param("status") IssueStatus status,
+                               @Param("priority") IssuePriority priority,
+                               @Param("afterId") Long afterId,
+                               Limit limit);
+
+    @Query("select distinct i.project.id from Issue i where i.id in :ids")
+    List<Long> findProjectIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Served by issues(status, updated_at). Rows another archiver run has locked are skipped
+    // rather than waited for, so concurrent runs never copy the same issue twice.
+    @Query(value = "select i.id from issues i where i.status = :status and i.updated_at < :before"
+            + " order by i.updated_at limit :limit for update skip locked", nativeQuery = true)
+    List<Long> findIdsToArchive(@Param("status") String status, @Param("before") Instant before,
+                                @Param("limit") int limit);
+
+    // Users whose dashboard counters change when these issues leave the table.
+    @Query("select distinct i.project.owner.id from Issue i where i.id in :ids")
+    List<Long> findProjectOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct i.assignee.id from Issue i where i.id in :ids and i.assignee is not null")
+    List<Long> findAssigneeIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct i.assignee.id from Issue i where i.project.id = :projectId and i.assignee is not null")
+    List<Long> findAssigneeIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Issue i where i.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Set-based update: no entity hydration or dirty checking, so updatedAt is written explicitly.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Issue i set i.status = coalesce(:status, i.status),"
+            + " i.priority = coalesce(:priority, i.priority),"
+            + " i.updatedAt = :updatedAt,"
+            + " i.version = i.version + 1"
+            + " where i.id in :ids")
+    int bulkUpdate(@Param("ids") Collection<Long> ids,
+                   @Param("status") IssueStatus status,
+                   @Param("priority") IssuePriority priority,
+                   @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Full-text search (MySQL FULLTEXT with ngram), ordered by relevance; needs the index checked by
+     * {@link IssueSearchIndex}.
+     */
+    @Query(value = "select i.id as id,"
+            + " match(i.title, i.description) against (:query in natural language mode) as score"
+            + " from issues i"
+            + " where match(i.title, i.description) against (:query in natural language mode)"
+            + " and i.project_id = :projectId"
+            + " order by score desc, i.id desc"
+            + " limit :limit offset :offset", nativeQuery = true)
+    List<SearchHit> searchFullText(@Param("projectId") Long projectId, @Param("query") String query,
+                                   @Param("limit") int limit, @Param("offset") int offset);
+
+    long countByProjectOwnerIdAndProjectDeletedAtIsNull(Long ownerId);
+
+    long countByAssigneeIdAndProjectDeletedAtIsNull(Long assigneeId);
+
+    long countByProjectId(Long projectId);
+
+    @Query("select i.id from Issue i where i.project.id = :projectId order by i.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+
+    // Everything updateIssue needs for the response and the change event, without a managed entity.
+    @Query("select i.id as id, i.title as title, i.description as description, i.status as status,"
+            + " i.priority as priority, i.version as version, i.project.id as projectId,"
+            + " i.project.owner.id as projectOwnerId, i.assignee.id as assigneeId"
+            + " from Issue i where i.id = :id and i.project.deletedAt is null")
+    Optional<UpdateTarget> findUpdateTarget(@Param("id") Long id);
+
+    // Partial update that only writes the given columns; with a version it is a compare-and-set,
+    // so 0 rows means the issue is gone or no longer at that version.
+    @Modifying(flushAutomatically = true)
+    @Query("update Issue i set i.status = coalesce(:status, i.status),"
+            + " i.priority = coalesce(:priority, i.priority),"
+            + " i.updatedAt = :updatedAt,"
+            + " i.version = i.version + 1"
+            + " where i.id = :id and (:version is null or i.version = :version)")
+    int partialUpdate(@Param("id") Long id,
+                      @Param("version") Long version,
+                      @Param("status") IssueStatus status,
+                      @Param("priority") IssuePriority priority,
+                      @Param("updatedAt") Instant updatedAt);
+
+    interface UpdateTarget {
+
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        IssueStatus getStatus();
+
+        IssuePriority getPriority();
+
+        long getVersion();
+
+        Long getProjectId();
+
+        Long getProjectOwnerId();
+
+        Long getAssigneeId();
+    }
+
+    interface SearchHit {
+
+        Long getId();
+
+        Double getScore();
+    }
 }
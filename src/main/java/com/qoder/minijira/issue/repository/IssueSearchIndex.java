@@ -0,0 +1,77 @@
+package com.qoder.minijira.issue.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Checks whether the FULLTEXT index on issues(title, description) exists (ngram parser, so CJK text is
+ * searchable). Hibernate's ddl-auto does not create full-text indexes, so production creates it by hand
+ * as described in the README. Building one on a large table blocks writes for a long time, so it is only
+ * created at startup when search.fulltext.auto-create is set (meant for local development). MySQL only;
+ * on other databases (such as local H2) or without the index, search falls back to LIKE matching.
+ */
+@Component
+public class IssueSearchIndex implements ApplicationRunner {
+
+    static final String INDEX_NAME = "ft_issues_title_description";
+
+    private static final Logger log = LoggerFactory.getLogger(IssueSearchIndex.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean autoCreate;
+
+    private volatile boolean available;
+
+    public IssueSearchIndex(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                            @Value("${search.fulltext.auto-create:false}") boolean autoCreate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.autoCreate = autoCreate;
+    }
+
+    /**
+     * Whether the full-text index is usable; callers use the fallback query when it is not.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            log.info("Full-text issue search disabled on {}, falling back to LIKE matching", product);
+            return;
+        }
+
+        Integer existing = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.statistics"
+                        + " where table_schema = database() and table_name = 'issues' and index_name = ?",
+                Integer.class, INDEX_NAME);
+        if (existing != null && existing > 0) {
+            available = true;
+            return;
+        }
+        if (!autoCreate) {
+            log.warn("Full-text index {} is missing, issue search falls back to LIKE matching until it is created",
+                    INDEX_NAME);
+            return;
+        }
+
+        log.info("Creating full-text index {} on issues(title, description)", INDEX_NAME);
+        jdbcTemplate.execute("alter table issues add fulltext index " + INDEX_NAME
+                + " (title, description) with parser ngram");
+        available = true;
+    }
+}
@@ -0,0 +1,131 @@
+package com.qoder.minijira.issue.service;
+
+import com.qoder.minijira.issue.entity.IssueStatus;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.issue.repository.ArchivedIssueRepository;
+import com.qoder.minijira.issue.repository.IssueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves issues that have been CLOSED for longer than {@code issue.archive.closed-days} from
+ * {@code issues} into {@code issues_archive}, so the hot table and its indexes only hold issues
+ * people still work on. Closing an issue bumps {@code updatedAt} and any later change bumps it
+ * again, so an old {@code updatedAt} on a CLOSED issue means it has been closed at least that long.
+ * <p>
+ * Each batch is copied and deleted in its own short transaction, with a pause between batches and a
+ * cap per run, so the job never holds locks for long or monopolises the scheduler thread.
+ */
+@Component
+public class IssueArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueArchiver.class);
+
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration closedAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long batchPauseMs;
+    private final Counter archivedCounter;
+
+    public IssueArchiver(IssueRepository issueRepository,
+                         ArchivedIssueRepository archivedIssueRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${issue.archive.enabled:true}") boolean enabled,
+                         @Value("${issue.archive.closed-days:180}") long closedDays,
+                         @Value("${issue.archive.batch-size:500}") int batchSize,
+                         @Value("${issue.archive.max-batches-per-run:20}") int maxBatchesPerRun,
+                         @Value("${issue.archive.batch-pause-ms:200}") long batchPauseMs) {
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.closedAge = Duration.ofDays(closedDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPauseMs = batchPauseMs;
+        this.archivedCounter = Counter.builder("issue.archive.moved")
+                .description("Closed issues moved from the hot table into issues_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${issue.archive.interval-ms:600000}",
+            initialDelayString = "${issue.archive.interval-ms:600000}")
+    public void archiveClosedIssues() {
+        if (!enabled) {
+            return;
+        }
+        Instant before = Instant.now().minus(closedAge);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved;
+            try {
+                moved = archiveBatch(before);
+            } catch (RuntimeException e) {
+                log.warn("Issue archiving stopped after {} issue(s): {}", total, e.getMessage());
+                break;
+            }
+            total += moved;
+            if (moved < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} issue(s) closed before {}", total, before);
+        }
+    }
+
+    /**
+     * Moves one batch and returns how many issues were archived.
+     */
+    public int archiveBatch(Instant closedBefore) {
+        Integer moved = transactionTemplate.execute(tx -> {
+            List<Long> ids = issueRepository.findIdsToArchive(IssueStatus.CLOSED.name(), closedBefore, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Long> projectIds = issueRepository.findProjectIdsByIdIn(ids);
+            Set<Long> userIds = new HashSet<>(issueRepository.findProjectOwnerIdsByIdIn(ids));
+            userIds.addAll(issueRepository.findAssigneeIdsByIdIn(ids));
+            archivedIssueRepository.copyFromIssues(ids, Instant.now());
+            int deleted = issueRepository.deleteByIdIn(ids);
+            // Boards and cached lists of these projects refresh the same way as after a bulk update;
+            // the owners' and assignees' dashboard counters are reloaded.
+            eventPublisher.publishEvent(new IssuesBulkUpdatedEvent(new HashSet<>(projectIds), deleted, userIds));
+            return deleted;
+        });
+        archivedCounter.increment(moved);
+        return moved;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,18 +1,62 @@
 package com.qoder.minijira.issue.service;
 
 import com.qoder.minijira.common.exception.BusinessException;
+import com.qoder.minijira.common.exception.VersionConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.qoder.minijira.issue.dto.IssueBulkUpdateRequest;
+import com.qoder.minijira.issue.dto.IssueBulkUpdateResponse;
 import com.qoder.minijira.issue.dto.IssueCreateRequest;
+import com.qoder.minijira.issue.dto.IssueExportFormat;
+import com.qoder.minijira.issue.dto.IssuePageResponse;
+import com.qoder.minijira.issue.dto.IssueQueryRequest;
 import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.dto.IssueSearchResponse;
 import com.qoder.minijira.issue.entity.Issue;
 import com.qoder.minijira.issue.entity.IssuePriority;
 import com.qoder.minijira.issue.entity.IssueStatus;
+import com.qoder.minijira.common.api.ConditionalRequests;
+import com.qoder.minijira.common.cache.CacheConfig;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.issue.repository.IssueCriteria;
+import com.qoder.minijira.issue.repository.ArchivedIssueRepository;
 import com.qoder.minijira.issue.repository.IssueRepository;
+import com.qoder.minijira.issue.repository.IssueSearchIndex;
 import com.qoder.minijira.project.entity.Project;
 import com.qoder.minijira.project.repository.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.qoder.minijira.issue.dto.IssueUpdateRequest;
@@ -20,51 +64,402 @@ import com.qoder.minijira.issue.dto.IssueUpdateRequest;
 @Service
 public class IssueService {
 
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 200;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int MAX_HISTORY_OFFSET = 10_000;
+
     private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
     private final ProjectRepository projectRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final IssueSearchIndex searchIndex;
+    private final int maxUpdateAttempts;
+    private final int exportChunkSize;
+    private final int bulkUpdateChunkSize;
+    private final Counter updateRetries;
 
-    public IssueService(IssueRepository issueRepository, ProjectRepository projectRepository) {
+    public IssueService(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository,
+                        ProjectRepository projectRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        IssueSearchIndex searchIndex,
+                        MeterRegistry meterRegistry,
+                        @Value("${issue.update.max-attempts:3}") int maxUpdateAttempts,
+                        @Value("${issue.export.chunk-size:500}") int exportChunkSize,
+                        @Value("${issue.bulk-update.chunk-size:500}") int bulkUpdateChunkSize) {
         this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
         this.projectRepository = projectRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.searchIndex = searchIndex;
+        this.maxUpdateAttempts = Math.max(1, maxUpdateAttempts);
+        this.exportChunkSize = exportChunkSize;
+        this.bulkUpdateChunkSize = bulkUpdateChunkSize;
+        this.updateRetries = Counter.builder("issue.update.retries")
+                .description("Issue updates retried after a deadlock or lock wait timeout")
+                .register(meterRegistry);
     }
 
     @Transactional
     public IssueResponse createIssue(Long projectId, IssueCreateRequest request) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+        Project project = findActiveProject(projectId);
 
         Issue issue = new Issue();
         issue.setProject(project);
         issue.setTitle(request.getTitle());
         issue.setDescription(request.getDescription());
         issue.setStatus(IssueStatus.OPEN);
-        issue.setPriority(IssuePriority.valueOf(request.getPriority().toUpperCase()));
+        IssuePriority priority = parseEnum(request.getPriority(), IssuePriority.class, "priority");
+        if (priority == null) {
+            throw new BusinessException(1000, "priority must not be blank");
+        }
+        issue.setPriority(priority);
 
         Issue saved = issueRepository.save(issue);
-        return toResponse(saved);
+        publishEvent(IssueChangedEvent.Type.CREATED, saved, null);
+        return IssueResponse.from(saved);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PROJECT_ISSUES, key = "#projectId")
+    @Transactional(readOnly = true)
     public List<IssueResponse> listIssues(Long projectId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+        Project project = findActiveProject(projectId);
         List<Issue> issues = issueRepository.findByProject(project);
-        return issues.stream().map(this::toResponse).collect(Collectors.toList());
+        return issues.stream().map(IssueResponse::from).collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * One page of a project's full history: live issues and the ones moved to the archive, merged in
+     * id order. Each table's ids are read from its (project_id, id) index up to the end of the page,
+     * so the offset is capped like search. Not cached; the default list stays on the hot table only.
+     */
+    @Transactional(readOnly = true)
+    public List<IssueResponse> listIssuesIncludingArchived(Long projectId, Integer page, Integer pageSize) {
+        int pageNumber = page == null ? 1 : page;
+        int size = pageSize == null ? DEFAULT_PAGE_LIMIT : pageSize;
+        if (size < 1 || size > MAX_PAGE_LIMIT) {
+            throw new BusinessException(1000, "pageSize must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        if (pageNumber < 1 || (long) (pageNumber - 1) * size > MAX_HISTORY_OFFSET) {
+            throw new BusinessException(1000, "page is out of range");
+        }
+        findActiveProject(projectId);
+
+        int offset = (pageNumber - 1) * size;
+        Limit pageEnd = Limit.of(offset + size);
+        List<Long> ids = new ArrayList<>(issueRepository.findIdsByProjectId(projectId, pageEnd));
+        ids.addAll(archivedIssueRepository.findIdsByProjectId(projectId, pageEnd));
+        if (offset >= ids.size()) {
+            return List.of();
+        }
+        Collections.sort(ids);
+        List<Long> pageIds = ids.subList(offset, Math.min(offset + size, ids.size()));
+
+        List<IssueResponse> issues = issueRepository.findAllById(pageIds).stream()
+                .map(IssueResponse::from)
+                .collect(Collectors.toCollection(ArrayList::new));
+        issues.addAll(archivedIssueRepository.findResponsesByIdIn(pageIds));
+        issues.sort(Comparator.comparing(IssueResponse::getId));
+        return issues;
+    }
+
+    /**
+     * Tags the list itself rather than the table's current state, so a cached list is never sent
+     * under the tag of newer data. Every write to an issue bumps its version, so ids and versions
+     * identify the content.
+     */
+    public String getIssueListETag(Long projectId, List<IssueResponse> issues) {
+        List<Long> versions = new ArrayList<>(issues.size() * 2);
+        for (IssueResponse issue : issues) {
+            versions.add(issue.getId());
+            versions.add(issue.getVersion());
+        }
+        return ConditionalRequests.contentETag("issues", projectId, versions);
+    }
+
+    @Transactional(readOnly = true)
+    public IssuePageResponse listIssuesPage(Long projectId, Integer limit, String after,
+                                            String status, String priority) {
+        assertProjectExists(projectId);
+        int pageSize = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_LIMIT) {
+            throw new BusinessException(1000, "limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        long afterId = after == null || after.isBlank() ? 0L : decodeCursor(after);
+        IssueStatus statusFilter = parseEnum(status, IssueStatus.class, "status");
+        IssuePriority priorityFilter = parseEnum(priority, IssuePriority.class, "priority");
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Issue> issues;
+        if (statusFilter != null && priorityFilter != null) {
+            issues = issueRepository.findByProjectIdAndStatusAndPriorityAndIdGreaterThanOrderByIdAsc(
+                    projectId, statusFilter, priorityFilter, afterId, fetchLimit);
+        } else if (statusFilter != null) {
+            issues = issueRepository.findByProjectIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                    projectId, statusFilter, afterId, fetchLimit);
+        } else if (priorityFilter != null) {
+            issues = issueRepository.findByProjectIdAndPriorityAndIdGreaterThanOrderByIdAsc(
+                    projectId, priorityFilter, afterId, fetchLimit);
+        } else {
+            issues = issueRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(projectId, afterId, fetchLimit);
+        }
+
+        boolean hasMore = issues.size() > pageSize;
+        List<Issue> page = hasMore ? issues.subList(0, pageSize) : issues;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+        List<IssueResponse> items = page.stream().map(IssueResponse::from).collect(Collectors.toList());
+        return new IssuePageResponse(items, nextCursor, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public List<IssueResponse> queryIssues(Long projectId, IssueQueryRequest request) {
+        int limit = request.getLimit() == null ? DEFAULT_PAGE_LIMIT : request.getLimit();
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BusinessException(1000, "limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        assertProjectExists(projectId);
+
+        IssueCriteria criteria = new IssueCriteria();
+        criteria.setProjectId(projectId);
+        criteria.setStatuses(parseEnums(request.getStatus(), IssueStatus.class, "status"));
+        criteria.setPriorities(parseEnums(request.getPriority(), IssuePriority.class, "priority"));
+        criteria.setAssigneeId(request.getAssigneeId());
+        criteria.setCreatedFrom(request.getCreatedFrom());
+        criteria.setCreatedTo(request.getCreatedTo());
+        criteria.setUpdatedFrom(request.getUpdatedFrom());
+        criteria.setUpdatedTo(request.getUpdatedTo());
+        criteria.setLimit(limit);
+        applySort(criteria, request.getSort());
+        return issueRepository.query(criteria);
+    }
+
+    @Transactional(readOnly = true)
+    public IssueSearchResponse searchIssues(Long projectId, String query, Integer page, Integer pageSize) {
+        String keywords = query == null ? "" : query.trim();
+        if (keywords.isEmpty() || keywords.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BusinessException(1000, "q must be between 1 and " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageNumber = page == null ? 1 : page;
+        int size = pageSize == null ? DEFAULT_SEARCH_PAGE_SIZE : pageSize;
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BusinessException(1000, "pageSize must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (pageNumber < 1 || (long) (pageNumber - 1) * size > MAX_SEARCH_OFFSET) {
+            throw new BusinessException(1000, "page is out of range");
+        }
+        assertProjectExists(projectId);
+
+        int offset = (pageNumber - 1) * size;
+        List<Long> ids;
+        if (searchIndex.isAvailable()) {
+            ids = issueRepository.searchFullText(projectId, keywords, size + 1, offset).stream()
+                    .map(IssueRepository.SearchHit::getId)
+                    .collect(Collectors.toList());
+        } else {
+            ids = entityManager.createQuery("select i.id from Issue i where i.project.id = :projectId"
+                            + " and (lower(i.title) like :pattern escape '!'"
+                            + " or lower(i.description) like :pattern escape '!')"
+                            + " order by i.id desc", Long.class)
+                    .setParameter("projectId", projectId)
+                    .setParameter("pattern", "%" + escapeLike(keywords.toLowerCase()) + "%")
+                    .setFirstResult(offset)
+                    .setMaxResults(size + 1)
+                    .getResultList();
+        }
+
+        boolean hasMore = ids.size() > size;
+        List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+        // findAllById does not preserve order; re-apply the ranking from the search query.
+        Map<Long, Issue> issuesById = issueRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Issue::getId, Function.identity()));
+        List<IssueResponse> items = pageIds.stream()
+                .map(issuesById::get)
+                .filter(Objects::nonNull)
+                .map(IssueResponse::from)
+                .collect(Collectors.toList());
+        return new IssueSearchResponse(items, pageNumber, size, hasMore);
+    }
+
+    public void assertProjectExists(Long projectId) {
+        if (!projectRepository.existsByIdAndDeletedAtIsNull(projectId)) {
+            throw new BusinessException(3000, "Project not found");
+        }
+    }
+
+    private Project findActiveProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .filter(project -> !project.isDeleted())
+                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+    }
+
+    /**
+     * Streams the project's issues in keyset chunks. Each chunk is read in its own short read-only
+     * transaction and written after it ends, so a slow client holds no connection (and no admission
+     * permit) while the download is in flight.
+     */
+    public void exportIssues(Long projectId, IssueExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        SequenceWriter jsonLines = format == IssueExportFormat.NDJSON
+                ? objectMapper.writerFor(IssueResponse.class).withRootValueSeparator("\n").writeValues(writer)
+                : null;
+        if (format == IssueExportFormat.CSV) {
+            writer.write("id,title,description,status,priority\n");
+        }
+        // Keyset chunks over (project_id, id): every query is a short range scan, so the export needs no
+        // server-side cursor and holds no open result set between chunks.
+        long afterId = 0;
+        int written = 0;
+        List<IssueResponse> chunk;
+        do {
+            long after = afterId;
+            chunk = readOnlyTemplate.execute(tx -> issueRepository
+                    .findByProjectIdAndIdGreaterThanOrderByIdAsc(projectId, after, Limit.of(exportChunkSize))
+                    .stream()
+                    .map(IssueResponse::from)
+                    .toList());
+            for (IssueResponse issue : chunk) {
+                if (jsonLines != null) {
+                    jsonLines.write(issue);
+                } else {
+                    writeCsvRow(writer, issue);
+                }
+                afterId = issue.getId();
+                written++;
+            }
+            if (jsonLines != null) {
+                jsonLines.flush();
+            }
+            writer.flush();
+        } while (chunk.size() == exportChunkSize);
+        if (jsonLines != null && written > 0) {
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Changes status/priority with one partial UPDATE and reads the result back, without loading the
+     * entity. With {@code request.version} the UPDATE only applies to that version, so a stale client
+     * gets a conflict instead of overwriting someone else's change. Transient lock failures (deadlock,
+     * lock wait timeout) on a hot issue are retried a bounded number of times.
+     */
     public IssueResponse updateIssue(Long issueId, IssueUpdateRequest request) {
-        Issue issue = issueRepository.findById(issueId)
+        IssueStatus status = parseEnum(request.getStatus(), IssueStatus.class, "status");
+        IssuePriority priority = parseEnum(request.getPriority(), IssuePriority.class, "priority");
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> applyUpdate(issueId, request.getVersion(), status, priority));
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt >= maxUpdateAttempts) {
+                    throw new VersionConflictException("Issue is being modified concurrently, please retry");
+                }
+                updateRetries.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    private IssueResponse applyUpdate(Long issueId, Long expectedVersion, IssueStatus status, IssuePriority priority) {
+        if (issueRepository.partialUpdate(issueId, expectedVersion, status, priority, Instant.now()) == 0) {
+            if (expectedVersion != null && issueRepository.existsById(issueId)) {
+                throw new VersionConflictException("Issue was modified by someone else, please reload and retry");
+            }
+            throw new BusinessException(3000, "Issue not found");
+        }
+        // Same transaction: sees the row as just written, and the row lock keeps it that way.
+        IssueRepository.UpdateTarget updated = issueRepository.findUpdateTarget(issueId)
                 .orElseThrow(() -> new BusinessException(3000, "Issue not found"));
-        
-        if (request.getStatus() != null) {
-            issue.setStatus(IssueStatus.valueOf(request.getStatus().toUpperCase()));
+        eventPublisher.publishEvent(new IssueChangedEvent(IssueChangedEvent.Type.UPDATED, issueId,
+                updated.getProjectId(), updated.getProjectOwnerId(), updated.getAssigneeId(), updated.getAssigneeId()));
+        return new IssueResponse(issueId, updated.getTitle(), updated.getDescription(), updated.getStatus(),
+                updated.getPriority(), updated.getVersion());
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VersionConflictException("Issue is being modified concurrently, please retry");
         }
-        if (request.getPriority() != null) {
-            issue.setPriority(IssuePriority.valueOf(request.getPriority().toUpperCase()));
+    }
+
+    /**
+     * Applies a status/priority change to many issues with set-based UPDATE statements. Each chunk
+     * of issue.bulk-update.chunk-size ids runs in its own short transaction so row locks are
+     * never held for the whole batch.
+     */
+    public IssueBulkUpdateResponse bulkUpdate(IssueBulkUpdateRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            throw new BusinessException(1000, "Exactly one of ids or filter must be provided");
         }
-        
-        Issue saved = issueRepository.save(issue);
-        return toResponse(saved);
+        if (request.getStatus() == null && request.getPriority() == null) {
+            throw new BusinessException(1000, "Nothing to update: status or priority is required");
+        }
+        IssueStatus status = parseEnum(request.getStatus(), IssueStatus.class, "status");
+        IssuePriority priority = parseEnum(request.getPriority(), IssuePriority.class, "priority");
+        Instant updatedAt = Instant.now();
+
+        long affected = 0;
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += bulkUpdateChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + bulkUpdateChunkSize, ids.size()));
+                affected += updateChunk(chunk, null, status, priority, updatedAt);
+            }
+            return new IssueBulkUpdateResponse(affected);
+        }
+
+        IssueBulkUpdateRequest.Filter filter = request.getFilter();
+        if (filter.getProjectId() == null) {
+            throw new BusinessException(1000, "filter.projectId is required");
+        }
+        assertProjectExists(filter.getProjectId());
+        IssueStatus statusFilter = parseEnum(filter.getStatus(), IssueStatus.class, "filter.status");
+        IssuePriority priorityFilter = parseEnum(filter.getPriority(), IssuePriority.class, "filter.priority");
+        long afterId = 0L;
+        while (true) {
+            List<Long> chunk = issueRepository.findIdsByFilter(filter.getProjectId(), statusFilter, priorityFilter,
+                    afterId, Limit.of(bulkUpdateChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += updateChunk(chunk, filter.getProjectId(), status, priority, updatedAt);
+            if (chunk.size() < bulkUpdateChunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        return new IssueBulkUpdateResponse(affected);
+    }
+
+    private int updateChunk(List<Long> ids, Long projectId, IssueStatus status, IssuePriority priority,
+                            Instant updatedAt) {
+        Integer updated = transactionTemplate.execute(tx -> {
+            Set<Long> projectIds = projectId != null
+                    ? Set.of(projectId)
+                    : Set.copyOf(issueRepository.findProjectIdsByIdIn(ids));
+            int rows = issueRepository.bulkUpdate(ids, status, priority, updatedAt);
+            eventPublisher.publishEvent(new IssuesBulkUpdatedEvent(projectIds, rows, Set.of()));
+            return rows;
+        });
+        return updated == null ? 0 : updated;
     }
 
     @Transactional
@@ -72,15 +467,105 @@ public class IssueService {
          Issue issue = issueRepository.findById(issueId)
                 .orElseThrow(() -> new BusinessException(3000, "Issue not found"));
          issueRepository.delete(issue);
+         publishEvent(IssueChangedEvent.Type.DELETED, issue, null);
+    }
+
+    private void publishEvent(IssueChangedEvent.Type type, Issue issue, Long previousAssigneeId) {
+        Project project = issue.getProject();
+        eventPublisher.publishEvent(new IssueChangedEvent(type, issue.getId(), project.getId(),
+                project.getOwner().getId(), assigneeIdOf(issue), previousAssigneeId));
+    }
+
+    private Long assigneeIdOf(Issue issue) {
+        return issue.getAssignee() == null ? null : issue.getAssignee().getId();
+    }
+
+    private void writeCsvRow(Writer writer, IssueResponse issue) throws IOException {
+        writer.write(String.valueOf(issue.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(issue.getTitle()));
+        writer.write(',');
+        writer.write(escapeCsv(issue.getDescription()));
+        writer.write(',');
+        writer.write(issue.getStatus().name());
+        writer.write(',');
+        writer.write(issue.getPriority().name());
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static <E extends Enum<E>> E parseEnum(String value, Class<E> type, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(1000, "Invalid " + name + ": " + value.trim());
+        }
+    }
+
+    private static <E extends Enum<E>> Set<E> parseEnums(String csv, Class<E> type, String name) {
+        if (csv == null || csv.isBlank()) {
+            return null;
+        }
+        Set<E> values = EnumSet.noneOf(type);
+        for (String value : csv.split(",")) {
+            try {
+                values.add(Enum.valueOf(type, value.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(1000, "Invalid " + name + ": " + value.trim());
+            }
+        }
+        return values;
+    }
+
+    private static void applySort(IssueCriteria criteria, String sort) {
+        if (sort == null || sort.isBlank()) {
+            return;
+        }
+        String[] parts = sort.split(",");
+        IssueCriteria.SortField field = switch (parts[0].trim()) {
+            case "id" -> IssueCriteria.SortField.ID;
+            case "createdAt" -> IssueCriteria.SortField.CREATED_AT;
+            case "updatedAt" -> IssueCriteria.SortField.UPDATED_AT;
+            case "priority" -> IssueCriteria.SortField.PRIORITY;
+            case "status" -> IssueCriteria.SortField.STATUS;
+            case "title" -> IssueCriteria.SortField.TITLE;
+            default -> throw new BusinessException(1000, "Unsupported sort field: " + parts[0].trim());
+        };
+        String direction = parts.length > 1 ? parts[1].trim() : "asc";
+        if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+            throw new BusinessException(1000, "Sort direction must be asc or desc");
+        }
+        criteria.setSortField(field);
+        criteria.setDescending(direction.equalsIgnoreCase("desc"));
     }
 
-    private IssueResponse toResponse(Issue issue) {
-        return new IssueResponse(
-                issue.getId(),
-                issue.getTitle(),
-                issue.getDescription(),
-                issue.getStatus(),
-                issue.getPriority()
-        );
+    // Matches the "escape '!'" clause of the LIKE fallback, so user input never acts as a wildcard.
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(1000, "Invalid cursor");
+        }
     }
 }
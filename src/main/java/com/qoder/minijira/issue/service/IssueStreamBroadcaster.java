@@ -0,0 +1,305 @@
+package com.qoder.minijira.issue.service;
+
+import com.qoder.minijira.common.outbox.OutboxDelivery;
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.dto.IssueStreamEvent;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.event.IssuesBulkUpdatedEvent;
+import com.qoder.minijira.issue.repository.IssueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory fan-out of issue changes to SSE subscribers of a project board.
+ *
+ * <p>Fed from the outbox, so nothing here runs on the writing request. Projects without
+ * subscribers cost nothing: events for them are dropped before any work is done. Each subscriber
+ * has a bounded queue drained on the broadcaster's own sender threads, so clients that are slow to
+ * read only ever hold those threads and never the application task executor; a subscriber that falls
+ * behind has its queue replaced by a single {@code resync} event. Event ids are {@code <boot epoch>-<seq>};
+ * a reconnect with {@code Last-Event-ID} replays from the project's recent history when possible
+ * and otherwise gets {@code resync}.
+ */
+@Component
+public class IssueStreamBroadcaster {
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+
+    private final IssueRepository issueRepository;
+    private final ThreadPoolExecutor executor;
+    private final long emitterTimeoutMs;
+    private final int bufferSize;
+    private final int historySize;
+    private final long channelRetentionMs;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Counter resyncCounter;
+
+    public IssueStreamBroadcaster(IssueRepository issueRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${issue-stream.sender-threads:8}") int senderThreads,
+                                  @Value("${issue-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${issue-stream.buffer-size:256}") int bufferSize,
+                                  @Value("${issue-stream.history-size:200}") int historySize,
+                                  @Value("${issue-stream.channel-retention-ms:300000}") long channelRetentionMs) {
+        this.issueRepository = issueRepository;
+        // At most one drain task per subscriber is queued, so the queue is bounded by the subscriber count.
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "issue-stream-sender-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.channelRetentionMs = channelRetentionMs;
+
+        this.resyncCounter = Counter.builder("issue.stream.resyncs")
+                .description("Resync events sent because a subscriber fell behind or could not resume")
+                .register(meterRegistry);
+        Gauge.builder("issue.stream.subscribers", channels,
+                        map -> map.values().stream().mapToInt(channel -> channel.subscribers.size()).sum())
+                .register(meterRegistry);
+        Gauge.builder("issue.stream.send.queue", executor, e -> e.getQueue().size())
+                .description("Subscribers with events waiting for a sender thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public SseEmitter subscribe(Long projectId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        // Register atomically with respect to the idle sweep, which removes empty channels.
+        Channel channel = channels.compute(projectId, (id, existing) -> {
+            Channel target = existing != null ? existing : new Channel(sequence.get());
+            target.subscribers.add(subscriber);
+            target.touch();
+            return target;
+        });
+
+        synchronized (channel) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long resumeFrom = parseSequence(lastEventId);
+                if (resumeFrom >= channel.floor) {
+                    channel.history.stream()
+                            .filter(event -> event.seq > resumeFrom)
+                            .forEach(subscriber::offer);
+                } else {
+                    subscriber.offer(resync(projectId));
+                }
+            } else {
+                // Flush the response headers right away so the client sees the stream as open. The
+                // emitter is not initialised yet, so Spring writes this on the request thread.
+                subscriber.sendHeartbeat();
+            }
+        }
+
+        Runnable remove = () -> {
+            channel.subscribers.remove(subscriber);
+            channel.touch();
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    @EventListener
+    public void onIssueChanged(OutboxDelivery<IssueChangedEvent> delivery) {
+        IssueChangedEvent event = delivery.getEvent();
+        Channel channel = channels.get(event.getProjectId());
+        if (channel == null) {
+            return;
+        }
+
+        IssueStreamEvent payload;
+        if (event.getType() == IssueChangedEvent.Type.DELETED) {
+            payload = new IssueStreamEvent(IssueStreamEvent.DELETED, event.getProjectId(), event.getIssueId(), null);
+        } else {
+            // Load the current state once per change, not once per subscriber.
+            IssueResponse issue = issueRepository.findById(event.getIssueId())
+                    .map(IssueResponse::from)
+                    .orElse(null);
+            if (issue == null) {
+                // Deleted before the delivery caught up; the DELETED event follows.
+                return;
+            }
+            String type = event.getType() == IssueChangedEvent.Type.CREATED
+                    ? IssueStreamEvent.CREATED : IssueStreamEvent.UPDATED;
+            payload = new IssueStreamEvent(type, event.getProjectId(), event.getIssueId(), issue);
+        }
+        publish(channel, payload);
+    }
+
+    @EventListener
+    public void onIssuesBulkUpdated(OutboxDelivery<IssuesBulkUpdatedEvent> delivery) {
+        // A bulk change can touch thousands of issues; tell boards to refetch instead of streaming each one.
+        for (Long projectId : delivery.getEvent().getProjectIds()) {
+            Channel channel = channels.get(projectId);
+            if (channel != null) {
+                publish(channel, new IssueStreamEvent(IssueStreamEvent.RESYNC, projectId, null, null));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${issue-stream.heartbeat-interval-ms:25000}")
+    public void heartbeatAndSweep() {
+        long now = System.currentTimeMillis();
+        for (Long projectId : channels.keySet()) {
+            channels.computeIfPresent(projectId, (id, channel) ->
+                    channel.subscribers.isEmpty() && now - channel.lastActivity > channelRetentionMs ? null : channel);
+        }
+        // Heartbeats keep proxies from closing idle connections and surface dead clients.
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::offerHeartbeat));
+    }
+
+    private void publish(Channel channel, IssueStreamEvent payload) {
+        synchronized (channel) {
+            StreamEvent event = new StreamEvent(sequence.incrementAndGet(), payload);
+            channel.history.addLast(event);
+            if (channel.history.size() > historySize) {
+                channel.floor = channel.history.removeFirst().seq;
+            }
+            channel.touch();
+            channel.subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private StreamEvent resync(Long projectId) {
+        resyncCounter.increment();
+        return new StreamEvent(sequence.get(), new IssueStreamEvent(IssueStreamEvent.RESYNC, projectId, null, null));
+    }
+
+    private long parseSequence(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash <= 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            // Issued before a restart (or malformed): history is gone.
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Channel {
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Deque<StreamEvent> history = new ArrayDeque<>();
+        // Events with seq <= floor are no longer in history.
+        private long floor;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private Channel(long floor) {
+            this.floor = floor;
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    private record StreamEvent(long seq, IssueStreamEvent payload) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(StreamEvent event) {
+            if (!queue.offer(event)) {
+                // Too slow to keep up: drop the backlog and let the client refetch.
+                queue.clear();
+                queue.offer(resync(event.payload().getProjectId()));
+            }
+            scheduleDrain();
+        }
+
+        void offerHeartbeat() {
+            if (queue.offer(new StreamEvent(-1, null))) {
+                scheduleDrain();
+            }
+        }
+
+        void sendHeartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment(HEARTBEAT));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                // Bounded turns, so one subscriber with a deep queue cannot hold a sender thread forever.
+                for (int sent = 0; sent < MAX_EVENTS_PER_DRAIN && (event = queue.poll()) != null; sent++) {
+                    if (event.payload() == null) {
+                        emitter.send(SseEmitter.event().comment(HEARTBEAT));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(epoch + "-" + event.seq())
+                                .name(event.payload().getType())
+                                .data(event.payload(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks remove the subscriber.
+                emitter.completeWithError(e);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.qoder.minijira.project.controller;
 
 import com.qoder.minijira.common.api.ApiResponse;
+import com.qoder.minijira.common.api.ConditionalRequests;
 import com.qoder.minijira.project.dto.ProjectCreateRequest;
+import com.qoder.minijira.project.dto.ProjectDeletionResponse;
 import com.qoder.minijira.project.dto.ProjectResponse;
 import com.qoder.minijira.project.dto.ProjectUpdateRequest;
 import com.qoder.minijira.project.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -33,8 +36,11 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<ProjectResponse> getProject(@PathVariable Long id) {
+    public ApiResponse<ProjectResponse> getProject(@PathVariable Long id, ServletWebRequest webRequest) {
         ProjectResponse response = projectService.getProject(id);
+        if (ConditionalRequests.notModified(webRequest, projectService.getProjectETag(response))) {
+            return null;
+        }
         return ApiResponse.success(response);
     }
 
@@ -43,4 +49,16 @@ public class ProjectController {
         ProjectResponse response = projectService.updateProject(id, request);
         return ApiResponse.success(response);
     }
+
+    @DeleteMapping("/{id}")
+    public ApiResponse<ProjectDeletionResponse> deleteProject(@PathVariable Long id) {
+        ProjectDeletionResponse response = projectService.deleteProject(id);
+        return ApiResponse.success(response);
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ApiResponse<ProjectDeletionResponse> getDeletion(@PathVariable Long id) {
+        ProjectDeletionResponse response = projectService.getDeletion(id);
+        return ApiResponse.success(response);
+    }
 }
@@ -0,0 +1,47 @@
+package com.qoder.minijira.project.dto;
+
+import java.time.Instant;
+
+public class ProjectDeletionResponse {
+
+    private Long projectId;
+    private String status;
+    private Long issuesTotal;
+    private long issuesDeleted;
+    private Instant requestedAt;
+    private Instant completedAt;
+
+    public ProjectDeletionResponse(Long projectId, String status, Long issuesTotal, long issuesDeleted,
+                                   Instant requestedAt, Instant completedAt) {
+        this.projectId = projectId;
+        this.status = status;
+        this.issuesTotal = issuesTotal;
+        this.issuesDeleted = issuesDeleted;
+        this.requestedAt = requestedAt;
+        this.completedAt = completedAt;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getIssuesTotal() {
+        return issuesTotal;
+    }
+
+    public long getIssuesDeleted() {
+        return issuesDeleted;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -1,12 +1,16 @@
 package com.qoder.minijira.project.entity;
 
+import com.qoder.minijira.common.cache.EntityCacheConfig;
 import com.qoder.minijira.user.entity.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PROJECT_REGION)
 public class Project {
 
     @Id
@@ -29,6 +33,9 @@ public class Project {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Set when deletion is requested; the row and its issues are purged later by ProjectPurger.
+    private Instant deletedAt;
+
     @PrePersist
     public void prePersist() {
         Instant now = Instant.now();
@@ -76,4 +83,16 @@ public class Project {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
 }
@@ -0,0 +1,93 @@
+package com.qoder.minijira.project.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of a background project deletion. The row outlives the project so the owner can still
+ * see that the deletion completed.
+ */
+@Entity
+@Table(name = "project_deletions", indexes = {
+        @Index(name = "idx_project_deletions_status_requested_at", columnList = "status, requestedAt")
+})
+public class ProjectDeletion {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // Counted by the purger on its first chunk, off the request path.
+    private Long issuesTotal;
+
+    @Column(nullable = false)
+    private long issuesDeleted;
+
+    @Column(nullable = false, updatable = false)
+    private Instant requestedAt;
+
+    private Instant completedAt;
+
+    protected ProjectDeletion() {
+    }
+
+    public ProjectDeletion(Long projectId, Long ownerId, Instant requestedAt) {
+        this.projectId = projectId;
+        this.ownerId = ownerId;
+        this.status = Status.IN_PROGRESS;
+        this.requestedAt = requestedAt;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getIssuesTotal() {
+        return issuesTotal;
+    }
+
+    public void setIssuesTotal(Long issuesTotal) {
+        this.issuesTotal = issuesTotal;
+    }
+
+    public long getIssuesDeleted() {
+        return issuesDeleted;
+    }
+
+    public void addIssuesDeleted(long count) {
+        this.issuesDeleted += count;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void complete(Instant completedAt) {
+        this.status = Status.COMPLETED;
+        this.completedAt = completedAt;
+    }
+}
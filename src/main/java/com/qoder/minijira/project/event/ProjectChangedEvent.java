@@ -0,0 +1,44 @@
+package com.qoder.minijira.project.event;
+
+import java.util.Set;
+
+/**
+ * Published by {@code ProjectService} inside the writing transaction.
+ */
+public class ProjectChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long projectId;
+    private final Long ownerId;
+    // Assignees of the project's issues; only filled in for DELETED.
+    private final Set<Long> assigneeIds;
+
+    public ProjectChangedEvent(Type type, Long projectId, Long ownerId, Set<Long> assigneeIds) {
+        this.type = type;
+        this.projectId = projectId;
+        this.ownerId = ownerId;
+        this.assigneeIds = assigneeIds;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Set<Long> getAssigneeIds() {
+        return assigneeIds;
+    }
+}
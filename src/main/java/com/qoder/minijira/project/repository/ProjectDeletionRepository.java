@@ -0,0 +1,12 @@
+package com.qoder.minijira.project.repository;
+
+import com.qoder.minijira.project.entity.ProjectDeletion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ProjectDeletionRepository extends JpaRepository<ProjectDeletion, Long> {
+
+    List<ProjectDeletion> findByStatusOrderByRequestedAtAsc(ProjectDeletion.Status status, Limit limit);
+}
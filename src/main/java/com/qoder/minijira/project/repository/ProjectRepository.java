@@ -1,14 +1,16 @@
 package com.qoder.minijira.project.repository;
 
 import com.qoder.minijira.project.entity.Project;
-import com.qoder.minijira.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    List<Project> findByOwner(User owner);
+    // Projects pending deletion are hidden everywhere except from the purger.
+    List<Project> findByOwnerIdAndDeletedAtIsNull(Long ownerId);
 
-    long countByOwner(User owner);
+    long countByOwnerIdAndDeletedAtIsNull(Long ownerId);
+
+    boolean existsByIdAndDeletedAtIsNull(Long id);
 }
@@ -0,0 +1,159 @@
+package com.qoder.minijira.project.service;
+
+import com.qoder.minijira.common.db.DatabaseAdmissionLimiter;
+import com.qoder.minijira.issue.repository.ArchivedIssueRepository;
+import com.qoder.minijira.issue.repository.IssueRepository;
+import com.qoder.minijira.project.entity.ProjectDeletion;
+import com.qoder.minijira.project.repository.ProjectDeletionRepository;
+import com.qoder.minijira.project.repository.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Purges projects whose deletion was requested: their issues (live and archived) are deleted in
+ * chunks of {@code project.deletion.chunk-size}, each in its own short transaction, and the project
+ * row goes last. Progress is stored on the {@link ProjectDeletion} row after every chunk, so a
+ * restart simply resumes with the next chunk.
+ * <p>
+ * The purger yields to live traffic: it pauses between chunks, caps the chunks per run, and stops
+ * the run as soon as requests are queueing for a database connection.
+ */
+@Component
+public class ProjectPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectPurger.class);
+    private static final int JOBS_PER_RUN = 10;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectDeletionRepository deletionRepository;
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final DatabaseAdmissionLimiter admissionLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long chunkPauseMs;
+    private final Counter deletedCounter;
+    private final Counter throttledCounter;
+
+    public ProjectPurger(ProjectRepository projectRepository,
+                         ProjectDeletionRepository deletionRepository,
+                         IssueRepository issueRepository,
+                         ArchivedIssueRepository archivedIssueRepository,
+                         DatabaseAdmissionLimiter admissionLimiter,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${project.deletion.enabled:true}") boolean enabled,
+                         @Value("${project.deletion.chunk-size:500}") int chunkSize,
+                         @Value("${project.deletion.max-chunks-per-run:20}") int maxChunksPerRun,
+                         @Value("${project.deletion.chunk-pause-ms:100}") long chunkPauseMs) {
+        this.projectRepository = projectRepository;
+        this.deletionRepository = deletionRepository;
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.admissionLimiter = admissionLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.chunkPauseMs = chunkPauseMs;
+        this.deletedCounter = Counter.builder("project.deletion.issues.deleted")
+                .description("Issues purged by background project deletions")
+                .register(meterRegistry);
+        this.throttledCounter = Counter.builder("project.deletion.throttled")
+                .description("Purge runs cut short because requests were waiting for the database")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${project.deletion.interval-ms:2000}")
+    public void purgeDeletedProjects() {
+        if (!enabled) {
+            return;
+        }
+        List<ProjectDeletion> pending = deletionRepository.findByStatusOrderByRequestedAtAsc(
+                ProjectDeletion.Status.IN_PROGRESS, Limit.of(JOBS_PER_RUN));
+        int chunks = 0;
+        for (ProjectDeletion deletion : pending) {
+            boolean done = false;
+            while (!done) {
+                if (chunks++ >= maxChunksPerRun) {
+                    return;
+                }
+                if (admissionLimiter.isSaturated()) {
+                    throttledCounter.increment();
+                    return;
+                }
+                try {
+                    done = purgeChunk(deletion.getProjectId());
+                } catch (RuntimeException e) {
+                    // Typically an issue created while the deletion was being requested; retried next run.
+                    log.warn("Purging project {} failed, will retry: {}", deletion.getProjectId(), e.getMessage());
+                    break;
+                }
+                if (!pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the next chunk of the project's issues, or the project itself once none are left.
+     * Returns true when the deletion is complete.
+     */
+    public boolean purgeChunk(Long projectId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            ProjectDeletion deletion = deletionRepository.findById(projectId).orElse(null);
+            if (deletion == null || deletion.getStatus() == ProjectDeletion.Status.COMPLETED) {
+                return true;
+            }
+            if (deletion.getIssuesTotal() == null) {
+                deletion.setIssuesTotal(issueRepository.countByProjectId(projectId)
+                        + archivedIssueRepository.countByProjectId(projectId));
+            }
+
+            int deleted = 0;
+            List<Long> ids = issueRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                deleted = issueRepository.deleteByIdIn(ids);
+            } else {
+                ids = archivedIssueRepository.findIdsByProjectId(projectId, Limit.of(chunkSize));
+                if (!ids.isEmpty()) {
+                    deleted = archivedIssueRepository.deleteByIdIn(ids);
+                }
+            }
+            if (!ids.isEmpty()) {
+                deletion.addIssuesDeleted(deleted);
+                deletedCounter.increment(deleted);
+                return false;
+            }
+
+            projectRepository.deleteById(projectId);
+            deletion.complete(Instant.now());
+            log.info("Deleted project {} and {} issue(s)", projectId, deletion.getIssuesDeleted());
+            return true;
+        }));
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,68 +1,97 @@
 package com.qoder.minijira.project.service;
 
+import com.qoder.minijira.common.api.ConditionalRequests;
+import com.qoder.minijira.common.cache.CacheConfig;
 import com.qoder.minijira.common.exception.BusinessException;
+import com.qoder.minijira.issue.repository.IssueRepository;
 import com.qoder.minijira.project.dto.ProjectCreateRequest;
+import com.qoder.minijira.project.dto.ProjectDeletionResponse;
 import com.qoder.minijira.project.dto.ProjectResponse;
 import com.qoder.minijira.project.dto.ProjectUpdateRequest;
 import com.qoder.minijira.project.entity.Project;
+import com.qoder.minijira.project.entity.ProjectDeletion;
+import com.qoder.minijira.project.event.ProjectChangedEvent;
+import com.qoder.minijira.project.repository.ProjectDeletionRepository;
 import com.qoder.minijira.project.repository.ProjectRepository;
-import com.qoder.minijira.user.entity.User;
+import com.qoder.minijira.security.SecurityUtils;
 import com.qoder.minijira.user.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ProjectDeletionRepository deletionRepository;
     private final UserRepository userRepository;
+    private final IssueRepository issueRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository) {
+    public ProjectService(ProjectRepository projectRepository, ProjectDeletionRepository deletionRepository,
+                          UserRepository userRepository, IssueRepository issueRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
+        this.deletionRepository = deletionRepository;
         this.userRepository = userRepository;
+        this.issueRepository = issueRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public ProjectResponse createProject(ProjectCreateRequest request) {
-        User currentUser = getCurrentUser();
+        Long currentUserId = SecurityUtils.currentUserId();
 
         Project project = new Project();
         project.setName(request.getName());
         project.setDescription(request.getDescription());
-        project.setOwner(currentUser);
+        project.setOwner(userRepository.getReferenceById(currentUserId));
 
         Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(ProjectChangedEvent.Type.CREATED, saved.getId(), currentUserId,
+                Set.of()));
         return new ProjectResponse(saved.getId(), saved.getName(), saved.getDescription());
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectResponse> listMyProjects() {
-        User currentUser = getCurrentUser();
-        List<Project> projects = projectRepository.findByOwner(currentUser);
+        List<Project> projects = projectRepository.findByOwnerIdAndDeletedAtIsNull(SecurityUtils.currentUserId());
         return projects.stream()
                 .map(p -> new ProjectResponse(p.getId(), p.getName(), p.getDescription()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Tags the response itself rather than the row's current version, so a cached project is never
+     * sent under the tag of another version.
+     */
+    public String getProjectETag(ProjectResponse project) {
+        return ConditionalRequests.contentETag("project", project.getId(),
+                Arrays.asList(project.getName(), project.getDescription()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = "#id")
+    @Transactional(readOnly = true)
     public ProjectResponse getProject(Long id) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+        Project project = findActiveProject(id);
         // In a real app, check permission here
         return new ProjectResponse(project.getId(), project.getName(), project.getDescription());
     }
 
     @Transactional
     public ProjectResponse updateProject(Long id, ProjectUpdateRequest request) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+        Project project = findActiveProject(id);
         
-        User currentUser = getCurrentUser();
+        Long currentUserId = SecurityUtils.currentUserId();
         // Allow owner or admin? For now just owner check if we want strictness, or just allow logged in users for demo
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        if (!project.getOwner().getId().equals(currentUserId)) {
              throw new BusinessException(403, "Not authorized to update this project");
         }
 
@@ -70,29 +99,53 @@ public class ProjectService {
         project.setDescription(request.getDescription());
         
         Project saved = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(ProjectChangedEvent.Type.UPDATED, saved.getId(), currentUserId,
+                Set.of()));
         return new ProjectResponse(saved.getId(), saved.getName(), saved.getDescription());
     }
 
+    /**
+     * Hides the project immediately and leaves purging its issues to {@link ProjectPurger}.
+     * Repeating the request returns the deletion already in progress.
+     */
     @Transactional
-    public void deleteProject(Long id) {
+    public ProjectDeletionResponse deleteProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(3000, "Project not found"));
-        // Check permission
-        User currentUser = getCurrentUser();
-        if (!project.getOwner().getId().equals(currentUser.getId())) {
+        Long currentUserId = SecurityUtils.currentUserId();
+        if (!project.getOwner().getId().equals(currentUserId)) {
              throw new BusinessException(403, "Not authorized to delete this project");
         }
-        projectRepository.delete(project);
+        if (project.isDeleted()) {
+            return deletionRepository.findById(id).map(ProjectService::toResponse)
+                    .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+        }
+
+        Instant now = Instant.now();
+        project.setDeletedAt(now);
+        ProjectDeletion deletion = deletionRepository.save(new ProjectDeletion(id, currentUserId, now));
+        eventPublisher.publishEvent(new ProjectChangedEvent(ProjectChangedEvent.Type.DELETED, id, currentUserId,
+                Set.copyOf(issueRepository.findAssigneeIdsByProjectId(id))));
+        return toResponse(deletion);
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new BusinessException(2000, "Not authenticated");
-        }
-        String principal = authentication.getName();
-        String username = principal.contains(":") ? principal.split(":", 2)[1] : principal;
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException(2000, "User not found"));
+    @Transactional(readOnly = true)
+    public ProjectDeletionResponse getDeletion(Long id) {
+        ProjectDeletion deletion = deletionRepository.findById(id)
+                .filter(d -> d.getOwnerId().equals(SecurityUtils.currentUserId()))
+                .orElseThrow(() -> new BusinessException(3000, "Project deletion not found"));
+        return toResponse(deletion);
+    }
+
+    private Project findActiveProject(Long id) {
+        return projectRepository.findById(id)
+                .filter(project -> !project.isDeleted())
+                .orElseThrow(() -> new BusinessException(3000, "Project not found"));
+    }
+
+    private static ProjectDeletionResponse toResponse(ProjectDeletion deletion) {
+        return new ProjectDeletionResponse(deletion.getProjectId(), deletion.getStatus().name(),
+                deletion.getIssuesTotal(), deletion.getIssuesDeleted(),
+                deletion.getRequestedAt(), deletion.getCompletedAt());
     }
 }
@@ -0,0 +1,114 @@
+package com.qoder.minijira.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global limit on requests in flight that adapts to observed latency (gradient style). Every window
+ * the average latency of the window is compared with a slowly moving long-term average: while they
+ * match the limit grows by about its square root, and once requests queue up somewhere (Tomcat,
+ * Hikari, MySQL) the short-term latency rises and the limit shrinks in proportion. Requests above the
+ * limit are rejected immediately instead of joining the queue.
+ * <p>
+ * Admission is a compare-and-set on the in-flight counter. Samples go into striped adders, and the
+ * single caller that wins the window rollover recomputes the limit.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    // The long-term average follows roughly the last 20 windows.
+    private static final double LONG_RTT_DECAY = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflightInWindow = new AtomicInteger();
+    private final LongAdder rttSumNanos = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+    private volatile int limit;
+    // Written only by the thread that wins the window rollover.
+    private volatile double estimatedLimit;
+    private volatile double longRttNanos;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                               long windowMs, int minSamples) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.minSamples = minSamples;
+        this.estimatedLimit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                maxInflightInWindow.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #tryAcquire()} and records how long the request took.
+     */
+    void release(long rttNanos) {
+        inflight.decrementAndGet();
+        rttSumNanos.add(rttNanos);
+        rttCount.increment();
+
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && rttCount.sum() >= minSamples && windowStart.compareAndSet(start, now)) {
+            long count = rttCount.sumThenReset();
+            long sum = rttSumNanos.sumThenReset();
+            int peakInflight = maxInflightInWindow.getAndSet(inflight.get());
+            if (count > 0) {
+                update((double) sum / count, peakInflight);
+            }
+        }
+    }
+
+    private void update(double shortRtt, int peakInflight) {
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_DECAY) + shortRtt * LONG_RTT_DECAY;
+        // After a sustained slowdown the long-term average has to catch up, or the limit never recovers.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        double current = estimatedLimit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        // Latency measured while most of the limit sat unused says nothing about a higher limit.
+        if (peakInflight < current / 2) {
+            newLimit = Math.min(newLimit, current);
+        }
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.qoder.minijira.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+
+/**
+ * Principal built from verified JWT claims, so authenticating a request needs no database access.
+ * {@link #getName()} keeps the "id:username" form that callers of {@code Authentication#getName()} expect.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal, Serializable {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+
+    public AuthenticatedUser(Long id, String username, String role) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String getName() {
+        return id + ":" + username;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -1,54 +1,95 @@
 package com.qoder.minijira.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String SSE_PATH_SUFFIX = "/issues/stream";
+
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserPrincipalCache userPrincipalCache,
+                                   MeterRegistry meterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.validTokenTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT verification time, including cache hits")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.invalidTokenTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT verification time, including cache hits")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String token = resolveToken(request);
-        if (token != null && jwtTokenProvider.isTokenValid(token)) {
-            String subject = jwtTokenProvider.getSubject(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(subject.split(":", 2)[1]);
-
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        // A scrape token already authenticated the request; it is not a JWT.
+        String token = SecurityContextHolder.getContext().getAuthentication() == null ? resolveToken(request) : null;
+        VerifiedToken verified = token == null ? null : verify(token);
+        if (verified != null) {
+            AuthenticatedUser user = toPrincipal(verified);
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        user, null, Collections.singletonList(new SimpleGrantedAuthority(user.getRole())));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified = jwtTokenProvider.verify(token).orElse(null);
+        (verified != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    private AuthenticatedUser toPrincipal(VerifiedToken verified) {
+        String[] subject = verified.getSubject().split(":", 2);
+        Long userId = verified.getUserId();
+        String role = verified.getRole();
+        if (userId != null && role != null) {
+            return new AuthenticatedUser(userId, subject[1], role);
+        }
+        // Tokens issued before the uid/role claims existed fall back to the cached database lookup.
+        return userPrincipalCache.get(Long.valueOf(subject[0]));
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearer = request.getHeader("Authorization");
         if (StringUtils.hasText(bearer) && bearer.startsWith("Bearer ")) {
             return bearer.substring(7);
         }
+        // EventSource cannot set headers, so SSE streams may pass the token as a query parameter.
+        if ("GET".equals(request.getMethod()) && request.getRequestURI().endsWith(SSE_PATH_SUFFIX)) {
+            String token = request.getParameter("access_token");
+            return StringUtils.hasText(token) ? token : null;
+        }
         return null;
     }
 }
@@ -0,0 +1,54 @@
+package com.qoder.minijira.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Lets Prometheus scrape {@code /actuator/prometheus} with a long-lived bearer token from
+ * {@code security.metrics.scrape-token}, since user JWTs expire within the hour. The token is accepted
+ * on that path only and grants nothing else; a blank token turns it off.
+ */
+@Component
+public class MetricsScrapeTokenFilter extends OncePerRequestFilter {
+
+    static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    static final String SCRAPER_ROLE = "ROLE_METRICS_SCRAPER";
+
+    private final byte[] scrapeToken;
+
+    public MetricsScrapeTokenFilter(@Value("${security.metrics.scrape-token:}") String scrapeToken) {
+        this.scrapeToken = scrapeToken.isBlank() ? null : scrapeToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return scrapeToken == null
+                || !request.getRequestURI().equals(request.getContextPath() + PROMETHEUS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String bearer = request.getHeader("Authorization");
+        if (bearer != null && bearer.startsWith("Bearer ")
+                && MessageDigest.isEqual(scrapeToken, bearer.substring(7).getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "metrics-scraper", null, Collections.singletonList(new SimpleGrantedAuthority(SCRAPER_ROLE))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
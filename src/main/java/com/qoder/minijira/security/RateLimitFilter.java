@@ -0,0 +1,137 @@
+package com.qoder.minijira.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qoder.minijira.common.api.ApiResponse;
+import com.qoder.minijira.common.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before it reaches controllers. Runs right after {@link JwtAuthenticationFilter}, so each
+ * authenticated user gets their own token bucket (anonymous requests are bucketed by client address);
+ * admitted requests then pass a global {@link AdaptiveConcurrencyLimiter}. Rejections are answered at
+ * once with 429 (per-client rate) or 503 (server saturated), both with {@code Retry-After}.
+ * <p>
+ * SSE streams are exempt: they hold a request open for minutes and would pin a concurrency slot.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final int TOO_MANY_REQUESTS_CODE = 4290;
+
+    private static final String SSE_PATH_SUFFIX = "/issues/stream";
+    private static final String ACTUATOR_PATH_PREFIX = "/actuator";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final UserRateLimiter userRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter admittedCounter;
+    private final Counter rateLimitedCounter;
+    private final Counter overloadedCounter;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.per-user.requests-per-second:20}") double requestsPerSecond,
+                           @Value("${rate-limit.per-user.burst:40}") int burst,
+                           @Value("${rate-limit.per-user.max-clients:100000}") long maxClients,
+                           @Value("${rate-limit.concurrency.initial-limit:50}") int initialLimit,
+                           @Value("${rate-limit.concurrency.min-limit:10}") int minLimit,
+                           @Value("${rate-limit.concurrency.max-limit:200}") int maxLimit,
+                           @Value("${rate-limit.concurrency.tolerance:1.5}") double tolerance,
+                           @Value("${rate-limit.concurrency.smoothing:0.2}") double smoothing,
+                           @Value("${rate-limit.concurrency.window-ms:1000}") long windowMs,
+                           @Value("${rate-limit.concurrency.min-samples:10}") int minSamples) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.userRateLimiter = new UserRateLimiter(requestsPerSecond, burst, maxClients);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, tolerance, smoothing, windowMs, minSamples);
+        this.admittedCounter = admissionCounter(meterRegistry, "admitted");
+        this.rateLimitedCounter = admissionCounter(meterRegistry, "rate_limited");
+        this.overloadedCounter = admissionCounter(meterRegistry, "overloaded");
+        Gauge.builder("http.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("http.admission.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        Gauge.builder("http.admission.clients", userRateLimiter, UserRateLimiter::trackedClients)
+                .description("Clients with a live token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !enabled || uri.startsWith(ACTUATOR_PATH_PREFIX) || uri.endsWith(SSE_PATH_SUFFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = userRateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            rateLimitedCounter.increment();
+            long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    ApiResponse.error(TOO_MANY_REQUESTS_CODE, "Too many requests, please slow down"));
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    ApiResponse.error(ServiceBusyException.CODE, "Service busy, please retry later"));
+            return;
+        }
+
+        admittedCounter.increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        ApiResponse<Void> body) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static Counter admissionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("http.admission.requests")
+                .description("API requests admitted or shed by the rate and concurrency limits")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.qoder.minijira.security;
+
+import com.qoder.minijira.common.exception.BusinessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class SecurityUtils {
+
+    private SecurityUtils() {
+    }
+
+    public static AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new BusinessException(2000, "Not authenticated");
+        }
+        return user;
+    }
+
+    public static Long currentUserId() {
+        return currentUser().getId();
+    }
+}
@@ -0,0 +1,53 @@
+package com.qoder.minijira.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets, kept as a single "theoretical arrival time" per client (GCRA), so taking
+ * a token is one compare-and-set with no locks and no refill thread. A client that has been idle long
+ * enough to refill its bucket behaves exactly like a new one, which is why idle entries can simply expire.
+ */
+class UserRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    UserRateLimiter(double requestsPerSecond, int burst, long maxClients) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos + burstToleranceNanos).plusMinutes(1))
+                .build();
+    }
+
+    /**
+     * Takes a token for the client and returns 0, or returns how many nanoseconds the client has to wait
+     * for the next token; a rejected call takes nothing.
+     */
+    long tryAcquire(String clientKey) {
+        AtomicLong arrival = buckets.get(clientKey, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now);
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedClients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,50 @@
+package com.qoder.minijira.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * The parts of a verified JWT that authentication needs, copied out of the parsed claims. Claims is a
+ * mutable map, so the verified-token cache shares this immutable projection across requests instead.
+ * {@link #getUserId()} and {@link #getRole()} are null for tokens issued before those claims existed.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Long userId;
+    private final String role;
+    private final long expiresAtMillis;
+
+    VerifiedToken(String subject, Long userId, String role, long expiresAtMillis) {
+        this.subject = subject;
+        this.userId = userId;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(claims.getSubject(),
+                claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class),
+                claims.get(JwtTokenProvider.CLAIM_ROLE, String.class),
+                claims.getExpiration().getTime());
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,11 +1,18 @@
 package com.qoder.minijira.user.entity;
 
+import com.qoder.minijira.common.cache.EntityCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.USER_REGION)
+@NaturalIdCache(region = EntityCacheConfig.USER_USERNAME_REGION)
 public class User {
 
     @Id
@@ -15,6 +22,7 @@ public class User {
     @Column(nullable = false, unique = true, length = 100)
     private String email;
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
@@ -0,0 +1,19 @@
+package com.qoder.minijira.user.repository;
+
+import com.qoder.minijira.user.entity.User;
+
+import java.util.Optional;
+
+public interface UserLookupRepository {
+
+    /**
+     * Looks up by natural id (username); a second-level cache hit needs no database access.
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Looks up by email: the email-to-id mapping is cached in memory and the entity then comes from
+     * the second-level cache by id.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,58 @@
+package com.qoder.minijira.user.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qoder.minijira.user.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    private final EntityManager entityManager;
+    // Only found users are cached; unknown emails are not, so the duplicate check on registration
+    // always reaches the database.
+    private final Cache<String, Long> idsByEmail;
+
+    UserLookupRepositoryImpl(EntityManager entityManager,
+                             @Value("${cache.entities.users.max-size:50000}") long maxSize,
+                             @Value("${cache.entities.users.ttl-seconds:600}") long ttlSeconds) {
+        this.entityManager = entityManager;
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        Long id = idsByEmail.getIfPresent(email);
+        if (id != null) {
+            User user = entityManager.find(User.class, id);
+            // The mapping may be stale (user deleted or email changed), so check before using it.
+            if (user != null && user.getEmail().equalsIgnoreCase(email)) {
+                return Optional.of(user);
+            }
+            idsByEmail.invalidate(email);
+        }
+        Optional<User> user = entityManager
+                .createQuery("select u from User u where u.email = :email", User.class)
+                .setParameter("email", email)
+                .getResultStream()
+                .findFirst();
+        user.ifPresent(found -> idsByEmail.put(email, found.getId()));
+        return user;
+    }
+}
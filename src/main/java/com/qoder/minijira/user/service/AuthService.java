@@ -7,24 +7,26 @@ import com.qoder.minijira.user.dto.LoginRequest;
 import com.qoder.minijira.user.dto.RegisterRequest;
 import com.qoder.minijira.user.entity.User;
 import com.qoder.minijira.user.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
 
-    public AuthService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    public AuthService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHasher = passwordHasher;
     }
 
-    @Transactional
+    // Not transactional: no connection is held while BCrypt runs; unique constraints catch concurrent registrations.
     public void register(RegisterRequest request) {
         userRepository.findByEmail(request.getEmail()).ifPresent(u -> {
             throw new BusinessException(1000, "Email already registered");
@@ -36,7 +38,7 @@ public class AuthService {
         User user = new User();
         user.setEmail(request.getEmail());
         user.setUsername(request.getUsername());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getPassword()));
         user.setRole("ROLE_USER");
 
         userRepository.save(user);
@@ -47,12 +49,27 @@ public class AuthService {
                 .orElseGet(() -> userRepository.findByUsername(request.getUsernameOrEmail())
                         .orElseThrow(() -> new BusinessException(2000, "Invalid credentials")));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
             throw new BusinessException(2000, "Invalid credentials");
         }
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            rehashInBackground(user.getId(), user.getPasswordHash(), request.getPassword());
+        }
 
-        String subject = user.getId() + ":" + user.getUsername();
-        String token = jwtTokenProvider.createToken(subject);
+        String token = jwtTokenProvider.createToken(user.getId(), user.getUsername(), user.getRole());
         return new AuthResponse(token, user.getUsername(), user.getEmail());
     }
+
+    private void rehashInBackground(Long userId, String oldHash, String rawPassword) {
+        boolean submitted = passwordHasher.encodeInBackground(rawPassword, newHash -> {
+            try {
+                userRepository.updatePasswordHash(userId, oldHash, newHash);
+            } catch (RuntimeException e) {
+                log.warn("Failed to rehash password for user {}", userId, e);
+            }
+        });
+        if (!submitted) {
+            log.debug("Skipped password rehash for user {}, hashing executor is busy", userId);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.qoder.minijira.common.api;
+
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The converter must produce exactly the bytes the default Jackson converter would, using the
+ * application's ObjectMapper.
+ */
+class ApiResponseMessageConverterTest extends ApiTestSupport {
+
+    private static final Type ISSUE_LIST = new ParameterizedTypeReference<ApiResponse<List<IssueResponse>>>() {
+    }.getType();
+    private static final Type VOID = new ParameterizedTypeReference<ApiResponse<Void>>() {
+    }.getType();
+    private static final Type MAP = new ParameterizedTypeReference<ApiResponse<Map<String, Object>>>() {
+    }.getType();
+
+    @Autowired
+    private ApiResponseMessageConverter converter;
+
+    @Test
+    void successWithoutDataMatchesJackson() throws Exception {
+        assertSameBytes(ApiResponse.success(null), VOID);
+        assertSameBytes(ApiResponse.success(null), ApiResponse.class);
+    }
+
+    @Test
+    void successWithAMessageMatchesJackson() throws Exception {
+        assertSameBytes(ApiResponse.success("Project \"p\" deleted\n✓", Map.of("id", 7)), MAP);
+        assertSameBytes(ApiResponse.success("ok", null), VOID);
+    }
+
+    @Test
+    void errorsMatchJackson() throws Exception {
+        assertSameBytes(ApiResponse.error(3000, "Issue not found"), VOID);
+        assertSameBytes(ApiResponse.error(5000, null), VOID);
+    }
+
+    @Test
+    void issueListsMatchJackson() throws Exception {
+        List<IssueResponse> issues = Arrays.asList(
+                new IssueResponse(1L, "Fix login", "Users see \"500\" on <submit>", IssueStatus.OPEN,
+                        IssuePriority.HIGH, 3L),
+                new IssueResponse(2L, "多语言标题", null, IssueStatus.CLOSED, IssuePriority.LOW, 0L));
+        assertSameBytes(ApiResponse.success(issues), ISSUE_LIST);
+        assertSameBytes(ApiResponse.success(List.of()), ISSUE_LIST);
+        // Raw types fall back to the runtime class.
+        assertSameBytes(ApiResponse.success(issues), ApiResponse.class);
+    }
+
+    @Test
+    void datesFollowTheApplicationSettings() throws Exception {
+        assertSameBytes(ApiResponse.success(Map.of("at", Instant.parse("2024-05-01T10:15:30Z"))), MAP);
+    }
+
+    private void assertSameBytes(ApiResponse<?> response, Type type) throws IOException {
+        MockHttpOutputMessage expected = new MockHttpOutputMessage();
+        new MappingJackson2HttpMessageConverter(objectMapper).write(response, type, MediaType.APPLICATION_JSON, expected);
+        MockHttpOutputMessage actual = new MockHttpOutputMessage();
+        converter.write(response, type, MediaType.APPLICATION_JSON, actual);
+
+        assertThat(actual.getBodyAsString()).isEqualTo(expected.getBodyAsString());
+        assertThat(actual.getBodyAsBytes()).isEqualTo(expected.getBodyAsBytes());
+    }
+}
@@ -0,0 +1,99 @@
+package com.qoder.minijira.common.api;
+
+import com.qoder.minijira.common.cache.CacheConfig;
+import com.qoder.minijira.issue.dto.IssueResponse;
+import com.qoder.minijira.issue.entity.IssuePriority;
+import com.qoder.minijira.issue.entity.IssueStatus;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class ConditionalRequestsTest extends ApiTestSupport {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private long projectId;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        loginAsNewUser("etag");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+    }
+
+    @Test
+    void projectIsNotResentUntilItChanges() throws Exception {
+        String path = "/api/projects/" + projectId;
+        MockHttpServletResponse first = send(get(path), null);
+        String etag = first.getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.getHeader("Cache-Control")).contains("no-cache").contains("private");
+
+        MockHttpServletResponse unchanged = send(get(path).header("If-None-Match", etag), null);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getContentAsString()).isEmpty();
+
+        data(put(path), Map.of("name", "renamed"));
+        MockHttpServletResponse changed = send(get(path).header("If-None-Match", etag), null);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void issueListIsNotResentUntilAnIssueChanges() throws Exception {
+        String path = "/api/projects/" + projectId + "/issues";
+        long issueId = data(post(path), Map.of("title", "t", "priority", "LOW")).path("id").asLong();
+        String etag = send(get(path), null).getHeader("ETag");
+
+        assertThat(send(get(path).header("If-None-Match", etag), null).getStatus()).isEqualTo(304);
+
+        data(put("/api/issues/" + issueId), Map.of("status", "IN_PROGRESS"));
+        MockHttpServletResponse updated = send(get(path).header("If-None-Match", etag), null);
+        assertThat(updated.getStatus()).isEqualTo(200);
+        String updatedETag = updated.getHeader("ETag");
+        assertThat(updatedETag).isNotEqualTo(etag);
+
+        // Deleting the only issue leaves no updatedAt to compare; the count still changes the tag.
+        data(delete("/api/issues/" + issueId), null);
+        MockHttpServletResponse emptied = send(get(path).header("If-None-Match", updatedETag), null);
+        assertThat(emptied.getStatus()).isEqualTo(200);
+        assertThat(objectMapper.readTree(emptied.getContentAsString()).path("data")).isEmpty();
+    }
+
+    @Test
+    void aListServedFromTheCacheCarriesItsOwnTag() throws Exception {
+        String path = "/api/projects/" + projectId + "/issues";
+        long issueId = data(post(path), Map.of("title", "t", "priority", "LOW")).path("id").asLong();
+        data(put("/api/issues/" + issueId), Map.of("status", "IN_PROGRESS"));
+        String current = send(get(path), null).getHeader("ETag");
+
+        // A reader that loaded the list before the update committed refilled the cache after it.
+        cacheManager.getCache(CacheConfig.PROJECT_ISSUES).put(projectId,
+                List.of(new IssueResponse(issueId, "t", null, IssueStatus.OPEN, IssuePriority.LOW, 0L)));
+
+        MockHttpServletResponse stale = send(get(path).header("If-None-Match", current), null);
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getHeader("ETag")).isNotEqualTo(current);
+        assertThat(objectMapper.readTree(stale.getContentAsString()).path("data").get(0).path("status").asText())
+                .isEqualTo("OPEN");
+    }
+
+    @Test
+    void missingProjectIsAnErrorNotAnETag() throws Exception {
+        MockHttpServletResponse response = send(get("/api/projects/0").header("If-None-Match", "*"), null);
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(objectMapper.readTree(response.getContentAsString()).path("code").asInt()).isEqualTo(3000);
+    }
+}
@@ -0,0 +1,98 @@
+package com.qoder.minijira.common.cache;
+
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Each write must evict exactly the entries it touched: the written project's, not its neighbour's.
+ */
+class ReadCacheInvalidatorTest extends ApiTestSupport {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache projects;
+    private Cache projectIssues;
+    private long projectId;
+    private long otherProjectId;
+    private long issueId;
+
+    @BeforeEach
+    void createProjects() throws Exception {
+        projects = cacheManager.getCache(CacheConfig.PROJECTS);
+        projectIssues = cacheManager.getCache(CacheConfig.PROJECT_ISSUES);
+        loginAsNewUser("cache");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        otherProjectId = data(post("/api/projects"), Map.of("name", "other")).path("id").asLong();
+        issueId = data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t", "priority", "LOW"))
+                .path("id").asLong();
+    }
+
+    @Test
+    void projectUpdateEvictsOnlyThatProject() throws Exception {
+        readProjects();
+        assertThat(projects.get(projectId)).isNotNull();
+
+        data(put("/api/projects/" + projectId), Map.of("name", "renamed"));
+
+        assertThat(projects.get(projectId)).isNull();
+        assertThat(projects.get(otherProjectId)).isNotNull();
+        assertThat(projectIssues.get(projectId)).isNotNull();
+        assertThat(data(get("/api/projects/" + projectId), null).path("name").asText()).isEqualTo("renamed");
+    }
+
+    @Test
+    void issueWritesEvictTheIssueListOfTheirProject() throws Exception {
+        readProjects();
+        data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t2", "priority", "LOW"));
+        assertThat(projectIssues.get(projectId)).isNull();
+        assertThat(projectIssues.get(otherProjectId)).isNotNull();
+        assertThat(projects.get(projectId)).isNotNull();
+
+        readProjects();
+        data(put("/api/issues/" + issueId), Map.of("status", "IN_PROGRESS"));
+        assertThat(projectIssues.get(projectId)).isNull();
+        assertThat(data(get("/api/projects/" + projectId + "/issues"), null).get(0).path("status").asText())
+                .isEqualTo("IN_PROGRESS");
+
+        readProjects();
+        data(patch("/api/issues/bulk"), Map.of("ids", List.of(issueId), "status", "CLOSED"));
+        assertThat(projectIssues.get(projectId)).isNull();
+
+        readProjects();
+        data(delete("/api/issues/" + issueId), null);
+        assertThat(projectIssues.get(projectId)).isNull();
+        assertThat(projectIssues.get(otherProjectId)).isNotNull();
+    }
+
+    @Test
+    void projectDeletionEvictsBothEntries() throws Exception {
+        readProjects();
+        data(delete("/api/projects/" + projectId), null);
+
+        assertThat(projects.get(projectId)).isNull();
+        assertThat(projectIssues.get(projectId)).isNull();
+        assertThat(projects.get(otherProjectId)).isNotNull();
+    }
+
+    private void readProjects() throws Exception {
+        for (long id : new long[]{projectId, otherProjectId}) {
+            data(get("/api/projects/" + id), null);
+            data(get("/api/projects/" + id + "/issues"), null);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.qoder.minijira.common.db;
+
+import com.qoder.minijira.common.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A single permit makes every leaked or double-released permit visible on the next acquire.
+ */
+class AdmissionControlledDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(1, 10, 10, 10);
+    private final AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, limiter);
+
+    @Test
+    void closingTheConnectionReleasesThePermit() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection admitted = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+
+        admitted.close();
+        verify(connection).close();
+        dataSource.getConnection();
+    }
+
+    @Test
+    void closingTwiceReleasesOnlyOnce() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        Connection admitted = dataSource.getConnection();
+        admitted.close();
+        admitted.close();
+
+        dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+    }
+
+    @Test
+    void aFailedGetConnectionReleasesThePermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+    }
+
+    @Test
+    void aRejectedRequestIsAnsweredWithServiceBusy() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource.getConnection();
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new QueryController(new JdbcTemplate(dataSource)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/query"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value(5030));
+    }
+
+    @RestController
+    static class QueryController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        QueryController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/query")
+        Integer query() {
+            return jdbcTemplate.queryForObject("select 1", Integer.class);
+        }
+    }
+}
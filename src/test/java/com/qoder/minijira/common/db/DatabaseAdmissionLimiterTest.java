@@ -0,0 +1,79 @@
+package com.qoder.minijira.common.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class DatabaseAdmissionLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CompletableFuture<Void> waiter = CompletableFuture.completedFuture(null);
+
+    @AfterEach
+    void stopWaiter() {
+        waiter.cancel(true);
+    }
+
+    @Test
+    void permitsDefaultToThePoolSize() throws Exception {
+        DatabaseAdmissionLimiter limiter = limiter(0, 2, 10, 10);
+
+        limiter.acquire();
+        limiter.acquire();
+        assertThatThrownBy(limiter::acquire).isInstanceOf(DatabaseBusyException.class);
+
+        limiter.release();
+        limiter.acquire();
+    }
+
+    @Test
+    void aFullQueueIsRejectedWithoutWaiting() throws Exception {
+        DatabaseAdmissionLimiter limiter = limiter(1, 10, 1, 60_000);
+        limiter.acquire();
+        waiter = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (DatabaseBusyException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(limiter::isSaturated);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessageContaining("queue is full");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("db.admission.rejected").counter().count()).isEqualTo(1);
+
+        // The queued request is admitted as soon as the permit comes back.
+        limiter.release();
+        waiter.get();
+        assertThat(limiter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void waitingPastTheTimeoutIsRejected() throws Exception {
+        DatabaseAdmissionLimiter limiter = limiter(1, 10, 10, 50);
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(meterRegistry.get("db.admission.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.admission.active").gauge().value()).isEqualTo(1);
+    }
+
+    private DatabaseAdmissionLimiter limiter(int maxConcurrency, int poolSize, int maxQueue, long timeoutMs) {
+        DatabaseAdmissionLimiter limiter = new DatabaseAdmissionLimiter(maxConcurrency, poolSize, maxQueue, timeoutMs);
+        limiter.bindTo(meterRegistry);
+        return limiter;
+    }
+}
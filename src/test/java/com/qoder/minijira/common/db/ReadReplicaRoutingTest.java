@@ -0,0 +1,141 @@
+package com.qoder.minijira.common.db;
+
+import com.qoder.minijira.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 用两个嵌入式 H2 验证读写分离：主库为 mini_jira_routing，副本为 mini_jira_replica。
+ * 两个库之间没有复制，副本上的心跳由测试直接写入，以模拟正常或落后的副本。
+ * 主库不能沿用 test profile 的 mini_jira_test：本测试的上下文会 create-drop 重建表，
+ * 共享上下文里按 id 缓存的项目和用户随之失效。
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mini_jira_routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "db.replicas.enabled=true",
+        "db.replicas.urls=jdbc:h2:mem:mini_jira_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "db.replicas.max-lag-ms=2000",
+        "db.replicas.heartbeat-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY = "mini_jira_routing";
+    private static final String REPLICA = "mini_jira_replica";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadReplicas readReplicas;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabaseAdmissionLimiter primaryLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbc = new JdbcTemplate(readReplicas.getReplicas().get(0).getDataSource());
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAnUpToDateReplica() {
+        replicaIsBehindBy(0);
+
+        assertThat(databaseServing(true)).isEqualTo(REPLICA);
+        assertThat(databaseServing(false)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToPrimary() {
+        replicaIsBehindBy(60_000);
+        assertThat(databaseServing(true)).isEqualTo(PRIMARY);
+
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+        readReplicas.heartbeat();
+        assertThat(databaseServing(true)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        replicaIsBehindBy(0);
+        actAs(1L);
+        assertThat(databaseServing(true)).isEqualTo(REPLICA);
+
+        databaseServing(false);
+        assertThat(databaseServing(true)).isEqualTo(PRIMARY);
+
+        actAs(2L);
+        assertThat(databaseServing(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void replicaReadsDoNotWaitForPrimaryPermits() throws Exception {
+        replicaIsBehindBy(0);
+        int primaryPermits = (int) meterRegistry.get("db.admission.limit").tag("pool", "primary").gauge().value();
+        int held = 0;
+        try {
+            for (; held < primaryPermits; held++) {
+                primaryLimiter.acquire();
+            }
+            assertThat(databaseServing(true)).isEqualTo(REPLICA);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                primaryLimiter.release();
+            }
+        }
+        assertThat(meterRegistry.get("db.admission.limit").tag("pool", "replica-1").gauge().value())
+                .isEqualTo(readReplicas.getReplicas().get(0).getDataSource().getMaximumPoolSize());
+    }
+
+    private void replicaIsBehindBy(long lagMs) {
+        readReplicas.heartbeat();
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", System.currentTimeMillis() - lagMs);
+        readReplicas.getReplicas().forEach(replica -> replica.check(System.currentTimeMillis(), 2000));
+    }
+
+    private String databaseServing(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> {
+            List<String> names = new JdbcTemplate(dataSource).queryForList("SELECT DATABASE()", String.class);
+            return names.get(0).toLowerCase();
+        });
+    }
+
+    private void actAs(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId, "USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
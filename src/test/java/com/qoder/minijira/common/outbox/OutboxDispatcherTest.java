@@ -0,0 +1,165 @@
+package com.qoder.minijira.common.outbox;
+
+import com.qoder.minijira.support.ApiTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Drives a second dispatcher by hand against the real outbox table, with the application's own
+ * dispatcher stopped so the two never race for the same rows.
+ */
+class OutboxDispatcherTest extends ApiTestSupport {
+
+    @Autowired
+    private OutboxDispatcher applicationDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AppliedDeliveries appliedDeliveries = new AppliedDeliveries(100, Duration.ofMinutes(1));
+    private final List<String> delivered = new ArrayList<>();
+    private final Set<String> failOnce = new HashSet<>();
+
+    @BeforeEach
+    void stopApplicationDispatcher() {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING) == 0);
+        applicationDispatcher.stop();
+    }
+
+    @AfterEach
+    void restartApplicationDispatcher() {
+        outboxEventRepository.deleteAll(outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().equals(Ping.class.getName()))
+                .toList());
+        applicationDispatcher.start();
+    }
+
+    @Test
+    void aFailedEventHoldsBackItsAggregateUntilRetried() {
+        OutboxDispatcher dispatcher = dispatcher(10);
+        OutboxEvent a1 = record(1L, "a1");
+        record(1L, "a2");
+        record(2L, "b1");
+        failOnce.add("a1");
+
+        dispatcher.drainBatch();
+        assertThat(delivered).containsExactly("b1");
+        OutboxEvent retrying = outboxEventRepository.findById(a1.getId()).orElseThrow();
+        assertThat(retrying.getAttempts()).isEqualTo(1);
+        assertThat(retrying.getNextAttemptAt()).isAfter(Instant.now());
+
+        dispatcher.drainBatch();
+        assertThat(delivered).containsExactly("b1");
+
+        makeDue(retrying);
+        dispatcher.drainBatch();
+        assertThat(delivered).containsExactly("b1", "a1", "a2");
+    }
+
+    @Test
+    void eventsBackingOffDoNotStarveOtherAggregates() {
+        OutboxDispatcher dispatcher = dispatcher(2);
+        record(1L, "a1");
+        record(1L, "a2");
+        record(2L, "b1");
+        record(2L, "b2");
+        record(2L, "b3");
+        failOnce.add("a1");
+
+        // The first batch is a1 and a2; a1 fails and a2 waits behind it.
+        dispatcher.drainBatch();
+        assertThat(delivered).isEmpty();
+
+        // Later batches leave the waiting aggregate out instead of fetching it again.
+        while (dispatcher.drainBatch()) {
+            // keep draining while batches are full
+        }
+        assertThat(delivered).containsExactly("b1", "b2", "b3");
+    }
+
+    @Test
+    void anEventCommittedAfterAHigherIdOfItsAggregateIsStillApplied() throws Exception {
+        OutboxDispatcher dispatcher = dispatcher(10);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<OutboxEvent> early = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    OutboxEvent event = record(1L, "early");
+                    inserted.countDown();
+                    awaitLatch(commit);
+                    return event;
+                }));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+        OutboxEvent late = record(1L, "late");
+
+        dispatcher.drainBatch();
+        assertThat(delivered).containsExactly("late");
+
+        commit.countDown();
+        assertThat(early.get(5, TimeUnit.SECONDS).getId()).isLessThan(late.getId());
+        dispatcher.drainBatch();
+        assertThat(delivered).containsExactly("late", "early");
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize) {
+        return new OutboxDispatcher(outboxEventRepository, this::publish, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), false, 1000, batchSize, 5, 60_000, 300_000);
+    }
+
+    private void publish(Object event) {
+        Ping ping = (Ping) ((OutboxDelivery<?>) event).getEvent();
+        if (failOnce.remove(ping.name())) {
+            throw new IllegalStateException("listener failed on " + ping.name());
+        }
+        if (appliedDeliveries.markApplied((OutboxDelivery<?>) event)) {
+            delivered.add(ping.name());
+        }
+    }
+
+    private OutboxEvent record(Long aggregateId, String name) {
+        try {
+            return outboxEventRepository.save(new OutboxEvent("test", aggregateId, Ping.class.getName(),
+                    objectMapper.writeValueAsString(new Ping(name))));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void makeDue(OutboxEvent event) {
+        event.setNextAttemptAt(Instant.now().minusSeconds(1));
+        outboxEventRepository.save(event);
+    }
+
+    record Ping(String name) {
+    }
+}
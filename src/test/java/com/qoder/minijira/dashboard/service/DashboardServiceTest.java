@@ -0,0 +1,167 @@
+package com.qoder.minijira.dashboard.service;
+
+import com.qoder.minijira.common.outbox.OutboxDelivery;
+import com.qoder.minijira.common.outbox.OutboxEvent;
+import com.qoder.minijira.common.outbox.OutboxEventRepository;
+import com.qoder.minijira.issue.event.IssueChangedEvent;
+import com.qoder.minijira.issue.repository.IssueRepository;
+import com.qoder.minijira.project.event.ProjectChangedEvent;
+import com.qoder.minijira.project.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counters are fed by hand; the repositories are mocks, so every COUNT query is visible.
+ */
+class DashboardServiceTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final DashboardService dashboardService = new DashboardService(projectRepository, issueRepository,
+            outboxEventRepository, mock(PlatformTransactionManager.class), 1000, 60, 2, 1000);
+    private long nextOutboxId = 1;
+
+    @Test
+    void eachRunRecountsABoundedSliceAndWrapsAround() {
+        for (long userId = 1; userId <= 5; userId++) {
+            dashboardService.getStats(userId);
+        }
+
+        assertThat(recountedOnNextRun()).isEqualTo(2);
+        assertThat(recountedOnNextRun()).isEqualTo(2);
+        assertThat(recountedOnNextRun()).isEqualTo(1);
+        assertThat(recountedOnNextRun()).isEqualTo(2);
+    }
+
+    @Test
+    void redeliveriesAreAppliedOnce() {
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenReturn(3L);
+        dashboardService.getStats(7L);
+
+        OutboxDelivery<IssueChangedEvent> delivery = creation(7L);
+        dashboardService.onIssueChanged(delivery);
+        // Redelivered because a later listener failed on it.
+        dashboardService.onIssueChanged(delivery);
+        created(7L);
+
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(5);
+    }
+
+    @Test
+    void deliveriesCommittedOutOfIdOrderAreBothApplied() {
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenReturn(3L);
+        dashboardService.getStats(7L);
+
+        OutboxDelivery<IssueChangedEvent> first = creation(7L);
+        OutboxDelivery<IssueChangedEvent> second = creation(7L);
+        // The transaction holding the lower id committed last, so its delivery comes second.
+        dashboardService.onIssueChanged(second);
+        dashboardService.onIssueChanged(first);
+
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(5);
+    }
+
+    @Test
+    void eventsPendingWhenCountersLoadAreNotCountedAgain() {
+        OutboxDelivery<IssueChangedEvent> committedBeforeLoad = creation(7L);
+        // The COUNT already sees the issue whose event is still waiting in the outbox.
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenReturn(4L);
+        when(outboxEventRepository.findIdsByStatus(OutboxEvent.Status.PENDING))
+                .thenReturn(List.of(committedBeforeLoad.getOutboxId()));
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(4);
+
+        dashboardService.onIssueChanged(committedBeforeLoad);
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(4);
+
+        created(7L);
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(5);
+    }
+
+    @Test
+    void aDeliveryDuringLoadWaitsForTheCounters() throws Exception {
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch finishCount = new CountDownLatch(1);
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenAnswer(invocation -> {
+            counting.countDown();
+            finishCount.await(5, TimeUnit.SECONDS);
+            return 3L;
+        });
+        CompletableFuture<Void> load = CompletableFuture.runAsync(() -> dashboardService.getStats(7L));
+        assertThat(counting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Committed after the COUNT read the table, so only its delivery can account for it.
+        CompletableFuture<Void> delivery = CompletableFuture.runAsync(() -> created(7L));
+        Thread.sleep(100);
+        finishCount.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        delivery.get(5, TimeUnit.SECONDS);
+
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(4);
+    }
+
+    @Test
+    void reconciliationReplacesDriftedCounters() {
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenReturn(3L);
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(3);
+
+        // The cached counter drifted by one, e.g. after an issue was deleted without an event.
+        created(7L);
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(4);
+
+        // The recount also sees an issue whose event has not been delivered yet.
+        OutboxDelivery<IssueChangedEvent> pending = creation(7L);
+        when(issueRepository.countByProjectOwnerIdAndProjectDeletedAtIsNull(7L)).thenReturn(4L);
+        when(outboxEventRepository.findIdsByStatus(OutboxEvent.Status.PENDING))
+                .thenReturn(List.of(pending.getOutboxId()));
+        dashboardService.reconcile();
+        dashboardService.onIssueChanged(pending);
+
+        assertThat(dashboardService.getStats(7L).getTotalIssues()).isEqualTo(4);
+    }
+
+    @Test
+    void deletingAProjectReloadsItsOwnerAndAssignees() {
+        for (long userId = 7; userId <= 9; userId++) {
+            dashboardService.getStats(userId);
+        }
+        clearInvocations(projectRepository);
+
+        dashboardService.onProjectChanged(new OutboxDelivery<>(nextOutboxId++, "project", 1L, Instant.now(),
+                new ProjectChangedEvent(ProjectChangedEvent.Type.DELETED, 1L, 7L, Set.of(8L))));
+        for (long userId = 7; userId <= 9; userId++) {
+            dashboardService.getStats(userId);
+        }
+
+        assertThat(mockingDetails(projectRepository).getInvocations()).hasSize(2);
+    }
+
+    private int recountedOnNextRun() {
+        clearInvocations(projectRepository);
+        dashboardService.reconcile();
+        return mockingDetails(projectRepository).getInvocations().size();
+    }
+
+    private void created(Long ownerId) {
+        dashboardService.onIssueChanged(creation(ownerId));
+    }
+
+    private OutboxDelivery<IssueChangedEvent> creation(Long ownerId) {
+        long outboxId = nextOutboxId++;
+        return new OutboxDelivery<>(outboxId, "project", 1L, Instant.now(),
+                new IssueChangedEvent(IssueChangedEvent.Type.CREATED, outboxId, 1L, ownerId, null, null));
+    }
+}
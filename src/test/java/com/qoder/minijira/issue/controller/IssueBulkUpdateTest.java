@@ -0,0 +1,95 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The test profile updates in chunks of two, so these requests span several chunk transactions.
+ */
+class IssueBulkUpdateTest extends ApiTestSupport {
+
+    private long projectId;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createIssues() throws Exception {
+        loginAsNewUser("bulk");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        String[] priorities = {"LOW", "HIGH", "LOW", "HIGH", "LOW"};
+        for (int i = 0; i < priorities.length; i++) {
+            ids.add(data(post("/api/projects/" + projectId + "/issues"),
+                    Map.of("title", "t" + i, "priority", priorities[i])).path("id").asLong());
+        }
+    }
+
+    @Test
+    void updatesTheGivenIdsOnce() throws Exception {
+        List<Long> selected = List.of(ids.get(0), ids.get(1), ids.get(2), ids.get(2));
+        JsonNode result = data(patch("/api/issues/bulk"), Map.of("ids", selected, "status", "IN_PROGRESS"));
+
+        assertThat(result.path("affected").asLong()).isEqualTo(3);
+        Map<Long, JsonNode> issues = issues();
+        for (int i = 0; i < ids.size(); i++) {
+            JsonNode issue = issues.get(ids.get(i));
+            assertThat(issue.path("status").asText()).isEqualTo(i < 3 ? "IN_PROGRESS" : "OPEN");
+            assertThat(issue.path("version").asLong()).isEqualTo(i < 3 ? 1 : 0);
+        }
+    }
+
+    @Test
+    void updatesEveryIssueMatchingTheFilter() throws Exception {
+        JsonNode result = data(patch("/api/issues/bulk"), Map.of(
+                "filter", Map.of("projectId", projectId, "priority", "LOW"), "status", "CLOSED"));
+        assertThat(result.path("affected").asLong()).isEqualTo(3);
+
+        result = data(patch("/api/issues/bulk"), Map.of(
+                "filter", Map.of("projectId", projectId, "status", "CLOSED"), "priority", "MEDIUM"));
+        assertThat(result.path("affected").asLong()).isEqualTo(3);
+
+        Map<Long, JsonNode> issues = issues();
+        for (int i = 0; i < ids.size(); i++) {
+            JsonNode issue = issues.get(ids.get(i));
+            boolean low = i % 2 == 0;
+            assertThat(issue.path("status").asText()).isEqualTo(low ? "CLOSED" : "OPEN");
+            assertThat(issue.path("priority").asText()).isEqualTo(low ? "MEDIUM" : "HIGH");
+        }
+    }
+
+    @Test
+    void invalidRequestsAreRejected() throws Exception {
+        Map<String, Object> filter = Map.of("projectId", projectId);
+        assertThat(errorCode(Map.of("ids", ids, "filter", filter, "status", "CLOSED"))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("status", "CLOSED"))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("ids", ids))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("ids", ids, "status", "DONE"))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("filter", Map.of("projectId", projectId, "priority", "URGENT"),
+                "status", "CLOSED"))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("filter", Map.of(), "status", "CLOSED"))).isEqualTo(1000);
+        assertThat(errorCode(Map.of("filter", Map.of("projectId", 0), "status", "CLOSED"))).isEqualTo(3000);
+        assertThat(errorCode(Map.of("ids", Collections.nCopies(10_001, 1L), "status", "CLOSED"))).isEqualTo(1000);
+    }
+
+    private Map<Long, JsonNode> issues() throws Exception {
+        Map<Long, JsonNode> issues = new HashMap<>();
+        data(get("/api/projects/" + projectId + "/issues"), null)
+                .forEach(issue -> issues.put(issue.path("id").asLong(), issue));
+        return issues;
+    }
+
+    private int errorCode(Map<String, Object> body) throws Exception {
+        return perform(patch("/api/issues/bulk"), body).path("code").asInt();
+    }
+}
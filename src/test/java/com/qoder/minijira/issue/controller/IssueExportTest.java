@@ -0,0 +1,108 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.issue.dto.IssueExportFormat;
+import com.qoder.minijira.issue.service.IssueService;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The test profile exports in chunks of two, so five issues cross several chunk boundaries.
+ */
+class IssueExportTest extends ApiTestSupport {
+
+    private static final List<String> TITLES = List.of("one", "two, with comma", "say \"hi\"", "four", "five");
+
+    @Autowired
+    private IssueService issueService;
+
+    private long projectId;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createIssues() throws Exception {
+        loginAsNewUser("export");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        for (String title : TITLES) {
+            ids.add(data(post("/api/projects/" + projectId + "/issues"), Map.of("title", title, "priority", "LOW"))
+                    .path("id").asLong());
+        }
+    }
+
+    @Test
+    void ndjsonHasOneIssuePerLineInIdOrder() throws Exception {
+        MockHttpServletResponse response = export("ndjson");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(response.getHeader("Content-Disposition"))
+                .isEqualTo("attachment; filename=\"project-" + projectId + "-issues.ndjson\"");
+
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(TITLES.size());
+        List<Long> exportedIds = new ArrayList<>();
+        List<String> exportedTitles = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode issue = objectMapper.readTree(line);
+            exportedIds.add(issue.path("id").asLong());
+            exportedTitles.add(issue.path("title").asText());
+        }
+        assertThat(exportedIds).containsExactlyElementsOf(ids);
+        assertThat(exportedTitles).containsExactlyElementsOf(TITLES);
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws Exception {
+        MockHttpServletResponse response = export("csv");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(
+                "id,title,description,status,priority\n"
+                        + ids.get(0) + ",one,,OPEN,LOW\n"
+                        + ids.get(1) + ",\"two, with comma\",,OPEN,LOW\n"
+                        + ids.get(2) + ",\"say \"\"hi\"\"\",,OPEN,LOW\n"
+                        + ids.get(3) + ",four,,OPEN,LOW\n"
+                        + ids.get(4) + ",five,,OPEN,LOW\n");
+    }
+
+    @Test
+    void noConnectionIsHeldWhileWritingToTheClient() throws Exception {
+        // Neither a transaction nor a connection or persistence context may be bound while writing.
+        List<Boolean> heldWhileWriting = new ArrayList<>();
+        ByteArrayOutputStream client = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                heldWhileWriting.add(TransactionSynchronizationManager.isActualTransactionActive()
+                        || !TransactionSynchronizationManager.getResourceMap().isEmpty());
+                super.write(b, off, len);
+            }
+        };
+
+        issueService.exportIssues(projectId, IssueExportFormat.NDJSON, client);
+
+        assertThat(client.toString().split("\n")).hasSize(TITLES.size());
+        assertThat(heldWhileWriting).isNotEmpty().containsOnly(false);
+    }
+
+    @Test
+    void invalidRequestsGetAnErrorResponse() throws Exception {
+        assertThat(perform(get("/api/projects/" + projectId + "/issues/export").param("format", "xml"), null)
+                .path("code").asInt()).isEqualTo(1000);
+        assertThat(perform(get("/api/projects/0/issues/export"), null).path("code").asInt()).isEqualTo(3000);
+    }
+
+    private MockHttpServletResponse export(String format) throws Exception {
+        return send(get("/api/projects/" + projectId + "/issues/export").param("format", format), null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class IssuePageTest extends ApiTestSupport {
+
+    private long projectId;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createIssues() throws Exception {
+        loginAsNewUser("page");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        String[] priorities = {"LOW", "HIGH", "LOW", "HIGH", "LOW"};
+        for (int i = 0; i < priorities.length; i++) {
+            ids.add(data(post("/api/projects/" + projectId + "/issues"),
+                    Map.of("title", "t" + i, "priority", priorities[i])).path("id").asLong());
+        }
+        perform(put("/api/issues/" + ids.get(2)), Map.of("status", "CLOSED"));
+        perform(put("/api/issues/" + ids.get(3)), Map.of("status", "CLOSED"));
+    }
+
+    @Test
+    void cursorsWalkThroughAllIssuesInIdOrder() throws Exception {
+        assertThat(walk(Map.of("limit", "2"))).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() throws Exception {
+        assertThat(walk(Map.of("limit", "1", "status", "closed")))
+                .containsExactly(ids.get(2), ids.get(3));
+        assertThat(walk(Map.of("limit", "1", "priority", "LOW")))
+                .containsExactly(ids.get(0), ids.get(2), ids.get(4));
+        assertThat(walk(Map.of("limit", "1", "status", "CLOSED", "priority", "HIGH")))
+                .containsExactly(ids.get(3));
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        JsonNode page = data(page().param("limit", "5"), null);
+        assertThat(page.path("items")).hasSize(5);
+        assertThat(page.path("hasMore").asBoolean()).isFalse();
+        assertThat(page.path("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void invalidParametersAreRejected() throws Exception {
+        assertThat(errorCode(page().param("limit", "0"))).isEqualTo(1000);
+        assertThat(errorCode(page().param("limit", "201"))).isEqualTo(1000);
+        assertThat(errorCode(page().param("after", "not a cursor"))).isEqualTo(1000);
+        assertThat(errorCode(page().param("status", "DONE"))).isEqualTo(1000);
+        assertThat(errorCode(page().param("priority", "URGENT"))).isEqualTo(1000);
+        assertThat(errorCode(get("/api/projects/0/issues/page"))).isEqualTo(3000);
+    }
+
+    private MockHttpServletRequestBuilder page() {
+        return get("/api/projects/" + projectId + "/issues/page");
+    }
+
+    private List<Long> walk(Map<String, String> params) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            MockHttpServletRequestBuilder request = page();
+            params.forEach(request::param);
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode page = data(request, null);
+            page.path("items").forEach(issue -> seen.add(issue.path("id").asLong()));
+            after = page.path("hasMore").asBoolean() ? page.path("nextCursor").asText() : null;
+        } while (after != null);
+        return seen;
+    }
+
+    private int errorCode(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, null).path("code").asInt();
+    }
+}
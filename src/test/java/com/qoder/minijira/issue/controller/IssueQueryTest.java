@@ -0,0 +1,85 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class IssueQueryTest extends ApiTestSupport {
+
+    private long projectId;
+
+    @BeforeEach
+    void createIssues() throws Exception {
+        loginAsNewUser("query");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        createIssue("delta", "HIGH", "RESOLVED");
+        createIssue("alpha", "LOW", "OPEN");
+        createIssue("charlie", "CRITICAL", "IN_PROGRESS");
+        createIssue("bravo", "MEDIUM", "OPEN");
+    }
+
+    @Test
+    void commaSeparatedValuesAreMatchedAsAnySet() throws Exception {
+        assertThat(titles(query().param("status", "open"))).containsExactly("alpha", "bravo");
+        assertThat(titles(query().param("status", "OPEN, RESOLVED").param("priority", "HIGH,LOW")))
+                .containsExactly("delta", "alpha");
+        assertThat(titles(query().param("updatedFrom", "2999-01-01T00:00:00Z"))).isEmpty();
+        assertThat(titles(query().param("createdTo", "2999-01-01T00:00:00Z"))).hasSize(4);
+    }
+
+    @Test
+    void enumsSortByRankAndOtherFieldsByValue() throws Exception {
+        assertThat(titles(query().param("sort", "priority"))).containsExactly("alpha", "bravo", "delta", "charlie");
+        assertThat(titles(query().param("sort", "priority,desc"))).containsExactly("charlie", "delta", "bravo", "alpha");
+        assertThat(titles(query().param("sort", "status"))).containsExactly("alpha", "bravo", "charlie", "delta");
+        assertThat(titles(query().param("sort", "title,desc"))).containsExactly("delta", "charlie", "bravo", "alpha");
+        assertThat(titles(query().param("sort", "id,desc").param("limit", "2"))).containsExactly("bravo", "charlie");
+    }
+
+    @Test
+    void invalidParametersAreRejected() throws Exception {
+        assertThat(queryError(query().param("status", "OPEN,DONE"))).isEqualTo(1000);
+        assertThat(queryError(query().param("priority", "URGENT"))).isEqualTo(1000);
+        assertThat(queryError(query().param("sort", "assignee"))).isEqualTo(1000);
+        assertThat(queryError(query().param("sort", "title,sideways"))).isEqualTo(1000);
+        assertThat(queryError(query().param("limit", "0"))).isEqualTo(1000);
+        assertThat(queryError(query().param("limit", "201"))).isEqualTo(1000);
+        assertThat(queryError(query().param("createdFrom", "yesterday"))).isEqualTo(1000);
+        assertThat(queryError(get("/api/projects/0/issues/query"))).isEqualTo(3000);
+    }
+
+    private void createIssue(String title, String priority, String status) throws Exception {
+        long id = data(post("/api/projects/" + projectId + "/issues"), Map.of("title", title, "priority", priority))
+                .path("id").asLong();
+        if (!status.equals("OPEN")) {
+            data(put("/api/issues/" + id), Map.of("status", status));
+        }
+    }
+
+    private MockHttpServletRequestBuilder query() {
+        return get("/api/projects/" + projectId + "/issues/query");
+    }
+
+    private List<String> titles(MockHttpServletRequestBuilder request) throws Exception {
+        List<String> titles = new ArrayList<>();
+        for (JsonNode issue : data(request, null)) {
+            titles.add(issue.path("title").asText());
+        }
+        return titles;
+    }
+
+    private int queryError(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, null).path("code").asInt();
+    }
+}
@@ -0,0 +1,79 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.common.db.SqlStatementStats;
+import com.qoder.minijira.common.db.SqlStatements;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Issue updates go through a single partial UPDATE and honour the client's version.
+ */
+class IssueResourceControllerUpdateTest extends ApiTestSupport {
+
+    private long projectId;
+    private long issueId;
+
+    @BeforeEach
+    void createIssue() throws Exception {
+        loginAsNewUser("upd");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        issueId = data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t", "priority", "LOW"))
+                .path("id").asLong();
+    }
+
+    @Test
+    void updateDoesNotLoadTheIssue() throws Exception {
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            JsonNode issue = data(put("/api/issues/" + issueId), Map.of("status", "IN_PROGRESS"));
+            assertThat(issue.path("status").asText()).isEqualTo("IN_PROGRESS");
+            assertThat(issue.path("priority").asText()).isEqualTo("LOW");
+            assertThat(issue.path("version").asLong()).isEqualTo(1);
+            // update issue, read it back, insert outbox row
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void staleVersionIsRejected() throws Exception {
+        data(put("/api/issues/" + issueId), Map.of("status", "IN_PROGRESS", "version", 0));
+
+        JsonNode body = perform(put("/api/issues/" + issueId), Map.of("status", "RESOLVED", "version", 0),
+                status().isConflict());
+        assertThat(body.path("code").asInt()).isEqualTo(4090);
+
+        JsonNode issue = data(put("/api/issues/" + issueId), Map.of("priority", "HIGH", "version", 1));
+        assertThat(issue.path("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(issue.path("version").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    void missingIssueIsNotAConflict() throws Exception {
+        JsonNode body = perform(put("/api/issues/" + Long.MAX_VALUE), Map.of("status", "RESOLVED", "version", 0),
+                status().isBadRequest());
+        assertThat(body.path("code").asInt()).isEqualTo(3000);
+    }
+
+    @Test
+    void unknownEnumValuesAreValidationErrors() throws Exception {
+        assertThat(perform(put("/api/issues/" + issueId), Map.of("status", "DONE"), status().isBadRequest())
+                .path("code").asInt()).isEqualTo(1000);
+        assertThat(perform(put("/api/issues/" + issueId), Map.of("priority", "URGENT"), status().isBadRequest())
+                .path("code").asInt()).isEqualTo(1000);
+        assertThat(perform(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t", "priority", "URGENT"),
+                status().isBadRequest()).path("code").asInt()).isEqualTo(1000);
+        assertThat(perform(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t", "priority", " "),
+                status().isBadRequest()).path("code").asInt()).isEqualTo(1000);
+
+        assertThat(data(put("/api/issues/" + issueId), Map.of("priority", " high ")).path("priority").asText())
+                .isEqualTo("HIGH");
+    }
+}
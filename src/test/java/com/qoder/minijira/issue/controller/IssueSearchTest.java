@@ -0,0 +1,79 @@
+package com.qoder.minijira.issue.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Search on H2 runs the LIKE fallback; paging and validation are shared with the full-text path.
+ */
+class IssueSearchTest extends ApiTestSupport {
+
+    private long projectId;
+
+    @BeforeEach
+    void createIssues() throws Exception {
+        loginAsNewUser("search");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        for (String title : List.of("Login fails", "Login is slow", "50% done", "snake_case name", "Unrelated")) {
+            data(post("/api/projects/" + projectId + "/issues"), Map.of("title", title, "priority", "LOW"));
+        }
+    }
+
+    @Test
+    void wildcardsInTheQueryMatchLiterally() throws Exception {
+        assertThat(titles(search("%", 1, 20))).containsExactly("50% done");
+        assertThat(titles(search("_", 1, 20))).containsExactly("snake_case name");
+        assertThat(titles(search("login", 1, 20))).containsExactly("Login is slow", "Login fails");
+    }
+
+    @Test
+    void resultsArePaged() throws Exception {
+        JsonNode first = search("login", 1, 1);
+        assertThat(titles(first)).containsExactly("Login is slow");
+        assertThat(first.path("hasMore").asBoolean()).isTrue();
+
+        JsonNode second = search("login", 2, 1);
+        assertThat(titles(second)).containsExactly("Login fails");
+        assertThat(second.path("hasMore").asBoolean()).isFalse();
+    }
+
+    @Test
+    void invalidParametersAreRejected() throws Exception {
+        assertThat(searchError(" ", 1, 20)).isEqualTo(1000);
+        assertThat(searchError("x".repeat(101), 1, 20)).isEqualTo(1000);
+        assertThat(searchError("login", 1, 0)).isEqualTo(1000);
+        assertThat(searchError("login", 1, 101)).isEqualTo(1000);
+        assertThat(searchError("login", 0, 20)).isEqualTo(1000);
+        assertThat(searchError("login", 1_000, 100)).isEqualTo(1000);
+    }
+
+    private JsonNode search(String q, int page, int pageSize) throws Exception {
+        return data(get("/api/projects/" + projectId + "/issues/search")
+                .param("q", q)
+                .param("page", String.valueOf(page))
+                .param("pageSize", String.valueOf(pageSize)), null);
+    }
+
+    private int searchError(String q, int page, int pageSize) throws Exception {
+        return perform(get("/api/projects/" + projectId + "/issues/search")
+                .param("q", q)
+                .param("page", String.valueOf(page))
+                .param("pageSize", String.valueOf(pageSize)), null).path("code").asInt();
+    }
+
+    private static List<String> titles(JsonNode page) {
+        List<String> titles = new ArrayList<>();
+        page.path("items").forEach(issue -> titles.add(issue.path("title").asText()));
+        return titles;
+    }
+}
@@ -0,0 +1,116 @@
+package com.qoder.minijira.issue.controller;
+
+import com.qoder.minijira.support.ApiTestSupport;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Streams stay open for the whole test (MockMvc never completes the async request), so every
+ * assertion reads what has been written to the response so far.
+ */
+class IssueStreamTest extends ApiTestSupport {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\\nevent:created\\ndata:\\{[^\\n]*\"title\":\"(\\w+)\"");
+
+    @Autowired
+    private DataSource dataSource;
+
+    private long projectId;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        loginAsNewUser("stream");
+        projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+    }
+
+    @Test
+    void changesAreStreamedAndReplayedFromLastEventId() throws Exception {
+        MockHttpServletResponse live = open(stream());
+        createIssue("first");
+        createIssue("second");
+        await().atMost(Duration.ofSeconds(5)).until(() -> createdTitles(live).size() == 2);
+        assertThat(createdTitles(live)).containsExactly("first", "second");
+
+        MockHttpServletResponse resumed = open(stream().header("Last-Event-ID", createdIds(live).get(0)));
+        await().atMost(Duration.ofSeconds(5)).until(() -> !createdTitles(resumed).isEmpty());
+        assertThat(createdTitles(resumed)).containsExactly("second");
+    }
+
+    @Test
+    void unknownOrStaleEventIdsGetAResync() throws Exception {
+        MockHttpServletResponse beforeRestart = open(stream().param("lastEventId", "oldepoch-42"));
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> beforeRestart.getContentAsString().contains("event:resync"));
+    }
+
+    @Test
+    void bulkUpdatesAskBoardsToResync() throws Exception {
+        MockHttpServletResponse live = open(stream());
+        createIssue("bulk");
+        data(patch("/api/issues/bulk"), Map.of("filter", Map.of("projectId", projectId), "status", "IN_PROGRESS"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> live.getContentAsString().contains("event:resync"));
+    }
+
+    @Test
+    void openStreamsDoNotHoldDatabaseConnections() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        int streams = pool.getMaximumPoolSize() + 2;
+        for (int i = 0; i < streams; i++) {
+            open(stream());
+        }
+
+        assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isZero();
+        assertThat(data(get("/api/projects/" + projectId), null).path("id").asLong()).isEqualTo(projectId);
+    }
+
+    private MockHttpServletRequestBuilder stream() {
+        return get("/api/projects/" + projectId + "/issues/stream");
+    }
+
+    private MockHttpServletResponse open(MockHttpServletRequestBuilder builder) throws Exception {
+        builder.header("Authorization", "Bearer " + token);
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return result.getResponse();
+    }
+
+    private void createIssue(String title) throws Exception {
+        data(post("/api/projects/" + projectId + "/issues"), Map.of("title", title, "priority", "LOW"));
+    }
+
+    private static List<String> createdTitles(MockHttpServletResponse response) throws Exception {
+        return created(response, 2);
+    }
+
+    private static List<String> createdIds(MockHttpServletResponse response) throws Exception {
+        return created(response, 1);
+    }
+
+    private static List<String> created(MockHttpServletResponse response, int group) throws Exception {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = EVENT_ID.matcher(response.getContentAsString());
+        while (matcher.find()) {
+            values.add(matcher.group(group));
+        }
+        return values;
+    }
+}
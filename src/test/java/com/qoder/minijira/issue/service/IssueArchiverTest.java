@@ -0,0 +1,82 @@
+package com.qoder.minijira.issue.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class IssueArchiverTest extends ApiTestSupport {
+
+    @Autowired
+    private IssueArchiver issueArchiver;
+
+    @Test
+    void closedIssuesMoveToTheArchive() throws Exception {
+        loginAsNewUser("arc");
+        long projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t" + i, "priority", "LOW"))
+                    .path("id").asLong());
+        }
+        perform(put("/api/issues/" + ids.get(0)), Map.of("status", "CLOSED"));
+        perform(put("/api/issues/" + ids.get(2)), Map.of("status", "RESOLVED"));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(data(get("/api/dashboard/stats"), null).path("totalIssues").asLong()).isEqualTo(3));
+
+        assertThat(issueArchiver.archiveBatch(Instant.now().plusSeconds(1))).isGreaterThanOrEqualTo(1);
+        // The owner's dashboard counter is reloaded once the archive batch is delivered from the outbox.
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(data(get("/api/dashboard/stats"), null).path("totalIssues").asLong()).isEqualTo(2));
+
+        assertThat(issueIds(perform(get("/api/projects/" + projectId + "/issues"), null)))
+                .containsExactly(ids.get(1), ids.get(2));
+        assertThat(issueIds(perform(get("/api/projects/" + projectId + "/issues?includeArchived=true"), null)))
+                .containsExactlyElementsOf(ids);
+        assertThat(perform(put("/api/issues/" + ids.get(0)), Map.of("status", "OPEN")).path("code").asInt())
+                .isEqualTo(3000);
+    }
+
+    @Test
+    void theFullHistoryIsPaged() throws Exception {
+        loginAsNewUser("arcpage");
+        long projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t" + i, "priority", "LOW"))
+                    .path("id").asLong());
+        }
+        perform(put("/api/issues/" + ids.get(1)), Map.of("status", "CLOSED"));
+        perform(put("/api/issues/" + ids.get(3)), Map.of("status", "CLOSED"));
+        issueArchiver.archiveBatch(Instant.now().plusSeconds(1));
+
+        String history = "/api/projects/" + projectId + "/issues?includeArchived=true&pageSize=2&page=";
+        assertThat(issueIds(perform(get(history + 1), null))).containsExactly(ids.get(0), ids.get(1));
+        assertThat(issueIds(perform(get(history + 2), null))).containsExactly(ids.get(2), ids.get(3));
+        assertThat(issueIds(perform(get(history + 3), null))).containsExactly(ids.get(4));
+        assertThat(issueIds(perform(get(history + 4), null))).isEmpty();
+
+        assertThat(perform(get(history + 0), null).path("code").asInt()).isEqualTo(1000);
+        assertThat(perform(get("/api/projects/" + projectId + "/issues?includeArchived=true&pageSize=201"), null)
+                .path("code").asInt()).isEqualTo(1000);
+    }
+
+    private static List<Long> issueIds(JsonNode response) {
+        List<Long> ids = new ArrayList<>();
+        response.path("data").forEach(issue -> ids.add(issue.path("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,93 @@
+package com.qoder.minijira.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按接口聚合的延迟统计（HdrHistogram，微秒精度）
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        stats.histogram.recordValue(micros);
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(e -> e.histogram.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    String format(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-38s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Map.Entry<String, Map<String, Object>> row : rows(elapsedSeconds).entrySet()) {
+            Map<String, Object> r = row.getValue();
+            out.append(String.format("%-38s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.getKey(), r.get("count"), r.get("errors"), r.get("rps"),
+                    r.get("p50Ms"), r.get("p99Ms"), r.get("p999Ms"), r.get("maxMs")));
+        }
+        out.append(String.format("total: %d requests, %d errors, %.1f req/s over %.1fs%n",
+                totalRequests(), totalErrors(), totalRequests() / elapsedSeconds, elapsedSeconds));
+        return out.toString();
+    }
+
+    void writeJson(Path file, double elapsedSeconds, int users) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("totalRequests", totalRequests());
+        report.put("totalErrors", totalErrors());
+        report.put("rps", totalRequests() / elapsedSeconds);
+        report.put("endpoints", rows(elapsedSeconds));
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private Map<String, Map<String, Object>> rows(double elapsedSeconds) {
+        Map<String, Map<String, Object>> rows = new TreeMap<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", h.getTotalCount());
+            row.put("errors", stats.errors.sum());
+            row.put("rps", h.getTotalCount() / elapsedSeconds);
+            for (Map.Entry<String, Double> p : List.of(
+                    Map.entry("p50Ms", 50.0), Map.entry("p99Ms", 99.0), Map.entry("p999Ms", 99.9))) {
+                row.put(p.getKey(), h.getValueAtPercentile(p.getValue()) / 1000.0);
+            }
+            row.put("maxMs", h.getMaxValue() / 1000.0);
+            rows.put(name, row);
+        });
+        return rows;
+    }
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,217 @@
+package com.qoder.minijira.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 端到端压测：在 H2（MySQL 模式）上启动完整应用，多个虚拟用户并发执行混合负载，
+ * 按接口输出 p50/p99/p999 延迟与吞吐。
+ * 默认不随 mvn test 执行，使用 mvn -Pload-test test 运行。
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class MixedWorkloadLoadTest {
+
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "RESOLVED", "CLOSED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final int SETUP_ATTEMPTS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.users:16}")
+    private int users;
+
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.report:target/load-test-report.json}")
+    private String reportPath;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyReport report = new LatencyReport();
+
+    private volatile long measureFromNanos;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        long start = System.nanoTime();
+        measureFromNanos = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long deadline = measureFromNanos + Duration.ofSeconds(durationSeconds).toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                futures.add(pool.submit(() -> {
+                    new VirtualUser(user).run(deadline);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double measuredSeconds = (System.nanoTime() - measureFromNanos) / 1e9;
+        System.out.printf("%nLoad test: %d users, %ds warmup, %ds measured%n%s%n",
+                users, warmupSeconds, durationSeconds, report.format(measuredSeconds));
+        report.writeJson(Path.of(reportPath), measuredSeconds, users);
+
+        assertThat(report.totalRequests()).isPositive();
+        assertThat(report.totalErrors()).isZero();
+    }
+
+    /**
+     * 单个虚拟用户：注册登录、建项目，然后循环执行加权随机的操作直到截止时间
+     */
+    private final class VirtualUser {
+
+        private final String username;
+        private final Deque<Long> issueIds = new ArrayDeque<>();
+        private final List<Long> projectIds = new ArrayList<>();
+        private String token;
+
+        VirtualUser(int index) {
+            this.username = "load" + index + "_" + Long.toString(System.nanoTime(), 36);
+        }
+
+        void run(long deadline) throws Exception {
+            callUntilAdmitted("POST /api/auth/register", "POST", "/api/auth/register", Map.of(
+                    "email", username + "@load.test", "username", username, "password", "secret123"));
+            token = callUntilAdmitted("POST /api/auth/login", "POST", "/api/auth/login", Map.of(
+                    "usernameOrEmail", username, "password", "secret123")).path("token").asText(null);
+            if (token == null) {
+                throw new IllegalStateException("Virtual user " + username + " could not log in");
+            }
+            createProject();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                long projectId = projectIds.get(random.nextInt(projectIds.size()));
+                int dice = random.nextInt(100);
+                if (dice < 25 || issueIds.isEmpty()) {
+                    JsonNode issue = call("POST /api/projects/{id}/issues", "POST",
+                            "/api/projects/" + projectId + "/issues", Map.of(
+                                    "title", "Load issue " + random.nextInt(1_000_000),
+                                    "description", "Generated by the load test",
+                                    "priority", PRIORITIES[random.nextInt(PRIORITIES.length)]));
+                    issueIds.addLast(issue.path("id").asLong());
+                } else if (dice < 55) {
+                    call("GET /api/projects/{id}/issues", "GET", "/api/projects/" + projectId + "/issues", null);
+                } else if (dice < 65) {
+                    call("GET /api/projects/{id}/issues/page", "GET",
+                            "/api/projects/" + projectId + "/issues/page?limit=50", null);
+                } else if (dice < 80) {
+                    long issueId = issueIds.peekLast();
+                    call("PUT /api/issues/{id}", "PUT", "/api/issues/" + issueId, Map.of(
+                            "status", STATUSES[random.nextInt(STATUSES.length)],
+                            "priority", PRIORITIES[random.nextInt(PRIORITIES.length)]));
+                } else if (dice < 85) {
+                    call("DELETE /api/issues/{id}", "DELETE", "/api/issues/" + issueIds.pollFirst(), null);
+                } else if (dice < 95) {
+                    call("GET /api/dashboard/stats", "GET", "/api/dashboard/stats", null);
+                } else if (dice < 98) {
+                    call("GET /api/projects/{id}", "GET", "/api/projects/" + projectId, null);
+                } else {
+                    createProject();
+                }
+            }
+        }
+
+        private void createProject() throws Exception {
+            JsonNode project = call("POST /api/projects", "POST", "/api/projects", Map.of(
+                    "name", username + " project " + projectIds.size(),
+                    "description", "Load test project"));
+            projectIds.add(project.path("id").asLong());
+        }
+
+        /**
+         * 注册和登录走有界的 BCrypt 线程池，所有虚拟用户同时启动时可能被 503 拒绝，按 Retry-After 重试
+         */
+        private JsonNode callUntilAdmitted(String endpoint, String method, String path, Object body) throws Exception {
+            for (int attempt = 1; ; attempt++) {
+                HttpResponse<byte[]> response = send(endpoint, method, path, body);
+                if (response.statusCode() != 503 || attempt == SETUP_ATTEMPTS) {
+                    return read(endpoint, response);
+                }
+                long retryAfterSeconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(Duration.ofSeconds(retryAfterSeconds).toMillis());
+            }
+        }
+
+        private JsonNode call(String endpoint, String method, String path, Object body) throws Exception {
+            return read(endpoint, send(endpoint, method, path, body));
+        }
+
+        private HttpResponse<byte[]> send(String endpoint, String method, String path, Object body) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            long begin = System.nanoTime();
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - begin;
+            boolean success = response.statusCode() / 100 == 2;
+            if (begin >= measureFromNanos) {
+                report.record(endpoint, elapsed, success);
+            }
+            return response;
+        }
+
+        private JsonNode read(String endpoint, HttpResponse<byte[]> response) throws Exception {
+            if (response.statusCode() / 100 != 2) {
+                System.err.printf("%s -> %d %s%n", endpoint, response.statusCode(), new String(response.body()));
+                return objectMapper.missingNode();
+            }
+            return objectMapper.readTree(response.body()).path("data");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.qoder.minijira.project.controller;
+
+import com.qoder.minijira.common.db.SqlStatementStats;
+import com.qoder.minijira.common.db.SqlStatements;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 固定项目接口的 SQL 条数，防止无意中引入 N+1 或多余查询
+ */
+class ProjectControllerStatementCountTest extends ApiTestSupport {
+
+    @BeforeEach
+    void login() throws Exception {
+        loginAsNewUser("sql");
+    }
+
+    @Test
+    void createProject() throws Exception {
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(post("/api/projects"), Map.of("name", "p"));
+            // insert project + outbox row
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void getProject() throws Exception {
+        long id = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(get("/api/projects/" + id), null);
+            // entity load only; the owner is not touched
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(1);
+        }
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(get("/api/projects/" + id), null);
+            // served from the project cache, ETag included
+            assertThat(stats.getStatementCount()).as(stats.toString()).isZero();
+        }
+    }
+
+    @Test
+    void updateProjectDoesNotLoadOwner() throws Exception {
+        long id = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(put("/api/projects/" + id), Map.of("name", "renamed"));
+            // select project, update project, insert outbox row
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(3);
+            assertThat(stats.getShapes().keySet()).noneMatch(sql -> sql.contains(" from users "));
+        }
+    }
+
+    @Test
+    void updateProjectReadsFromEntityCache() throws Exception {
+        long id = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        data(get("/api/projects/" + id), null);
+
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(put("/api/projects/" + id), Map.of("name", "renamed"));
+            // the project comes from the second-level cache: update project, insert outbox row
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void listMyProjects() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            data(post("/api/projects"), Map.of("name", "p" + i));
+        }
+
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            data(get("/api/projects"), null);
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(1);
+        }
+    }
+}
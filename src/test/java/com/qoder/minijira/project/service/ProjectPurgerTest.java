@@ -0,0 +1,59 @@
+package com.qoder.minijira.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qoder.minijira.issue.service.IssueArchiver;
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class ProjectPurgerTest extends ApiTestSupport {
+
+    @Autowired
+    private ProjectPurger projectPurger;
+
+    @Autowired
+    private IssueArchiver issueArchiver;
+
+    @Test
+    void deletedProjectIsHiddenThenPurgedInChunks() throws Exception {
+        loginAsNewUser("del");
+        long projectId = data(post("/api/projects"), Map.of("name", "p")).path("id").asLong();
+        long lastIssueId = 0;
+        for (int i = 0; i < 4; i++) {
+            lastIssueId = data(post("/api/projects/" + projectId + "/issues"), Map.of("title", "t" + i, "priority", "LOW"))
+                    .path("id").asLong();
+        }
+        perform(put("/api/issues/" + lastIssueId), Map.of("status", "CLOSED"));
+        issueArchiver.archiveBatch(Instant.now().plusSeconds(1));
+
+        JsonNode deletion = perform(delete("/api/projects/" + projectId), null).path("data");
+        assertThat(deletion.path("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(perform(get("/api/projects/" + projectId), null).path("code").asInt()).isEqualTo(3000);
+        assertThat(perform(get("/api/projects/" + projectId + "/issues"), null).path("code").asInt()).isEqualTo(3000);
+        assertThat(perform(get("/api/projects"), null).path("data").findValuesAsText("id"))
+                .doesNotContain(String.valueOf(projectId));
+
+        // 3 live issues in chunks of 2, then the archived one, then the project row
+        assertThat(projectPurger.purgeChunk(projectId)).isFalse();
+        deletion = perform(get("/api/projects/" + projectId + "/deletion"), null).path("data");
+        assertThat(deletion.path("issuesTotal").asLong()).isEqualTo(4);
+        assertThat(deletion.path("issuesDeleted").asLong()).isEqualTo(2);
+        assertThat(projectPurger.purgeChunk(projectId)).isFalse();
+        assertThat(projectPurger.purgeChunk(projectId)).isFalse();
+        assertThat(projectPurger.purgeChunk(projectId)).isTrue();
+
+        deletion = perform(get("/api/projects/" + projectId + "/deletion"), null).path("data");
+        assertThat(deletion.path("status").asText()).isEqualTo("COMPLETED");
+        assertThat(deletion.path("issuesDeleted").asLong()).isEqualTo(4);
+        assertThat(perform(delete("/api/projects/" + projectId), null).path("code").asInt()).isEqualTo(3000);
+    }
+}
@@ -0,0 +1,53 @@
+package com.qoder.minijira.security;
+
+import com.qoder.minijira.support.ApiTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Only health is public; metrics need a token and the caches endpoint is not exposed at all.
+ * Prometheus may also scrape with the fixed token from {@code security.metrics.scrape-token}.
+ */
+class ActuatorSecurityTest extends ApiTestSupport {
+
+    private static final String SCRAPE_TOKEN = "test-scrape-token";
+
+    @Test
+    void anonymousCallersOnlySeeHealth() throws Exception {
+        assertThat(send(get("/actuator/health"), null).getStatus()).isEqualTo(200);
+        assertThat(send(get("/actuator/prometheus"), null).getStatus()).isEqualTo(403);
+        assertThat(send(get("/actuator/metrics"), null).getStatus()).isEqualTo(403);
+        assertThat(send(delete("/actuator/caches"), null).getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void authenticatedCallersReadMetricsButCannotEvictCaches() throws Exception {
+        loginAsNewUser("ops");
+        assertThat(send(get("/actuator/metrics"), null).getStatus()).isEqualTo(200);
+        assertThat(send(get("/actuator/prometheus"), null).getStatus()).isEqualTo(200);
+        assertThat(perform(get("/actuator"), null).path("_links").has("caches")).isFalse();
+        assertThat(send(delete("/actuator/caches"), null).getStatus()).isNotEqualTo(204);
+    }
+
+    @Test
+    void theScrapeTokenOpensPrometheusAndNothingElse() throws Exception {
+        MockHttpServletResponse scrape = mockMvc.perform(get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + SCRAPE_TOKEN)).andReturn().getResponse();
+        assertThat(scrape.getStatus()).isEqualTo(200);
+        assertThat(scrape.getContentAsString()).contains("jvm_memory_used_bytes");
+
+        assertThat(withToken(get("/actuator/prometheus"), SCRAPE_TOKEN + "x")).isEqualTo(403);
+        assertThat(withToken(get("/actuator/metrics"), SCRAPE_TOKEN)).isEqualTo(403);
+        assertThat(withToken(get("/api/projects"), SCRAPE_TOKEN)).isEqualTo(403);
+    }
+
+    private int withToken(MockHttpServletRequestBuilder request, String bearer) throws Exception {
+        return mockMvc.perform(request.header("Authorization", "Bearer " + bearer)).andReturn().getResponse()
+                .getStatus();
+    }
+}
@@ -0,0 +1,136 @@
+package com.qoder.minijira.security;
+
+import com.qoder.minijira.user.entity.User;
+import com.qoder.minijira.user.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the filter directly with mock requests; the user repository is a mock, so any database
+ * lookup is visible.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "jwt-filter-test-secret-that-is-at-least-256-bits-long";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 60_000, 100);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider,
+            new UserPrincipalCache(userRepository, 100, 300), new SimpleMeterRegistry());
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokensWithUserClaimsNeedNoLookup() throws Exception {
+        String token = tokenProvider.createToken(7L, "alice", "ROLE_ADMIN");
+
+        AuthenticatedUser user = authenticate(withBearer(get("/api/projects"), token));
+
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(user.getUsername()).isEqualTo("alice");
+        assertThat(user.getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void legacyTokensAreResolvedThroughThePrincipalCache() throws Exception {
+        User stored = new User();
+        ReflectionTestUtils.setField(stored, "id", 7L);
+        stored.setUsername("alice");
+        stored.setRole("ROLE_USER");
+        when(userRepository.findById(7L)).thenReturn(Optional.of(stored));
+        String token = legacyToken("7:alice");
+
+        assertThat(authenticate(withBearer(get("/api/projects"), token)).getRole()).isEqualTo("ROLE_USER");
+        SecurityContextHolder.clearContext();
+        assertThat(authenticate(withBearer(get("/api/projects"), token)).getId()).isEqualTo(7L);
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    void legacyTokensOfDeletedUsersAreNotAuthenticated() throws Exception {
+        when(userRepository.findById(8L)).thenReturn(Optional.empty());
+
+        assertThat(authenticate(withBearer(get("/api/projects"), legacyToken("8:bob")))).isNull();
+    }
+
+    @Test
+    void theQueryParameterIsOnlyAcceptedOnTheStream() throws Exception {
+        String token = tokenProvider.createToken(7L, "alice", "ROLE_USER");
+
+        MockHttpServletRequest stream = get("/api/projects/1/issues/stream");
+        stream.setParameter("access_token", token);
+        assertThat(authenticate(stream)).isNotNull();
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest list = get("/api/projects/1/issues");
+        list.setParameter("access_token", token);
+        assertThat(authenticate(list)).isNull();
+
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/projects/1/issues/stream");
+        post.setParameter("access_token", token);
+        assertThat(authenticate(post)).isNull();
+    }
+
+    @Test
+    void invalidTokensAreIgnored() throws Exception {
+        String token = tokenProvider.createToken(7L, "alice", "ROLE_USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(authenticate(withBearer(get("/api/projects"), tampered))).isNull();
+        assertThat(authenticate(withBearer(get("/api/projects"), "not-a-jwt"))).isNull();
+    }
+
+    private AuthenticatedUser authenticate(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : (AuthenticatedUser) authentication.getPrincipal();
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static MockHttpServletRequest withBearer(MockHttpServletRequest request, String token) {
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    // Signed like a current token but without the uid/role claims, as issued by earlier versions.
+    private static String legacyToken(String subject) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
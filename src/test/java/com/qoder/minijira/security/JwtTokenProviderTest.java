@@ -0,0 +1,69 @@
+package com.qoder.minijira.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Every test verifies the genuine token first, so the verified-token cache holds it while the
+ * interesting case is checked.
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "jwt-provider-test-secret-that-is-at-least-256-bits-long";
+
+    @Test
+    void verifiedTokensCarryTheirClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+        String token = provider.createToken(7L, "alice", "ROLE_USER");
+
+        VerifiedToken verified = provider.verify(token).orElseThrow();
+        assertThat(verified.getSubject()).isEqualTo("7:alice");
+        assertThat(verified.getUserId()).isEqualTo(7L);
+        assertThat(verified.getRole()).isEqualTo("ROLE_USER");
+        assertThat(provider.verify(token)).containsSame(verified);
+    }
+
+    @Test
+    void aCachedTokenIsRejectedFromItsExpiry() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 1500, 100);
+        String token = provider.createToken(7L, "alice", "ROLE_USER");
+        long expiresAt = provider.verify(token).orElseThrow().getExpiresAtMillis();
+        assertThat(provider.verify(token)).isPresent();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> System.currentTimeMillis() >= expiresAt);
+        assertThat(provider.verify(token)).isEmpty();
+        assertThat(provider.isTokenValid(token)).isFalse();
+    }
+
+    @Test
+    void aTamperedPayloadIsNotServedFromTheCache() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+        String token = provider.createToken(7L, "alice", "ROLE_USER");
+        assertThat(provider.verify(token)).isPresent();
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String elevated = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                payload.replace("ROLE_USER", "ROLE_ADMIN").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(provider.verify(parts[0] + "." + elevated + "." + parts[2])).isEmpty();
+    }
+
+    @Test
+    void aTokenSignedWithAnotherKeyIsRejected() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100);
+        assertThat(provider.verify(provider.createToken(7L, "alice", "ROLE_USER"))).isPresent();
+
+        JwtTokenProvider forger = new JwtTokenProvider(SECRET.replace('j', 'x'), 60_000, 100);
+        String forged = forger.createToken(7L, "alice", "ROLE_ADMIN");
+
+        assertThat(provider.verify(forged)).isEmpty();
+        assertThat(provider.getSubject(forged)).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.qoder.minijira.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the filter directly with mock requests; the adaptive limit is fed synthetic latencies.
+ */
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Buckets of 5 that refill every 10 s, and a fixed limit of one request in flight.
+    private final RateLimitFilter filter = new RateLimitFilter(objectMapper, meterRegistry, true,
+            0.1, 5, 1000, 1, 1, 1, 1.5, 0.2, 1000, 10);
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void eachUserHasItsOwnBucket() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(call(1L, new MockFilterChain()).getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = call(1L, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isPositive();
+        assertThat(objectMapper.readTree(rejected.getContentAsString()).path("code").asInt())
+                .isEqualTo(RateLimitFilter.TOO_MANY_REQUESTS_CODE);
+
+        assertThat(call(2L, new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(admissions("rate_limited")).isEqualTo(1);
+        assertThat(admissions("admitted")).isEqualTo(6);
+    }
+
+    @Test
+    void requestsOverTheConcurrencyLimitAreShedImmediately() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        // The second request arrives while the first one still holds the only slot.
+        FilterChain slowChain = (request, response) -> nested[0] = call(2L, new MockFilterChain());
+        assertThat(call(1L, slowChain).getStatus()).isEqualTo(200);
+
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(objectMapper.readTree(nested[0].getContentAsString()).path("code").asInt()).isEqualTo(5030);
+        assertThat(admissions("overloaded")).isEqualTo(1);
+
+        assertThat(call(2L, new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrencyLimitFollowsLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 1.5, 1.0, 0, 10);
+
+        runAtLimit(limiter, 10, 20);
+        int steady = limiter.getLimit();
+        assertThat(steady).isGreaterThan(20);
+
+        runAtLimit(limiter, 100, 5);
+        assertThat(limiter.getLimit()).isLessThan(steady / 2);
+
+        // A mostly idle server learns nothing about higher limits, however fast it answers.
+        runOneAtATime(limiter, 20);
+        int idle = limiter.getLimit();
+        runOneAtATime(limiter, 100);
+        assertThat(limiter.getLimit()).isEqualTo(idle);
+    }
+
+    private MockHttpServletResponse call(Long userId, FilterChain chain) throws ServletException, IOException {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double admissions(String outcome) {
+        return meterRegistry.get("http.admission.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void runOneAtATime(AdaptiveConcurrencyLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, long rttMs, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertThat(limiter.tryAcquire()).isTrue();
+            }
+            assertThat(limiter.tryAcquire()).isFalse();
+            for (int i = 0; i < limit; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMs));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.qoder.minijira.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base class for MockMvc tests against the full application. Every subclass shares this exact
+ * configuration and therefore one cached Spring context and one H2 database; settings a test needs
+ * belong in {@code application-test.yml}, not in {@code @SpringBootTest(properties = ...)} on a subclass.
+ * <p>
+ * Requests carry the token of the user last logged in with {@link #loginAsNewUser(String)}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class ApiTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected String token;
+
+    /**
+     * Registers a user with a unique name, logs in and sends its token with subsequent requests.
+     */
+    protected String loginAsNewUser(String prefix) throws Exception {
+        String username = prefix + System.nanoTime();
+        token = null;
+        perform(post("/api/auth/register"), Map.of(
+                "email", username + "@test.local", "username", username, "password", "secret123"), status().isOk());
+        token = perform(post("/api/auth/login"), Map.of("usernameOrEmail", username, "password", "secret123"),
+                status().isOk()).path("data").path("token").asText();
+        return token;
+    }
+
+    /**
+     * Expects 200 and returns the {@code data} of the response envelope.
+     */
+    protected JsonNode data(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return perform(request, body, status().isOk()).path("data");
+    }
+
+    /**
+     * Returns the whole response envelope, whatever the status.
+     */
+    protected JsonNode perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return objectMapper.readTree(send(request, body).getContentAsString());
+    }
+
+    protected JsonNode perform(MockHttpServletRequestBuilder request, Object body, ResultMatcher expected)
+            throws Exception {
+        prepare(request, body);
+        String response = mockMvc.perform(request)
+                .andExpect(expected)
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    protected MockHttpServletResponse send(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        prepare(request, body);
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private void prepare(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.qoder.minijira.user.repository;
+
+import com.qoder.minijira.common.db.SqlStatementStats;
+import com.qoder.minijira.common.db.SqlStatements;
+import com.qoder.minijira.support.ApiTestSupport;
+import com.qoder.minijira.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Counts the statements behind user lookups. Each test starts with the user evicted from the
+ * second-level cache, so the first lookup goes to the database.
+ */
+class UserEntityCacheTest extends ApiTestSupport {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String username;
+    private Long userId;
+
+    @BeforeEach
+    void registerUser() throws Exception {
+        username = "cached" + System.nanoTime();
+        data(post("/api/auth/register"), Map.of(
+                "email", username + "@test.local", "username", username, "password", "secret123"));
+        userId = userRepository.findByUsername(username).orElseThrow().getId();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(User.class);
+        cache.evictNaturalIdData(User.class);
+    }
+
+    @Test
+    void findByIdIsServedFromTheCacheTheSecondTime() {
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            userRepository.findById(userId).orElseThrow();
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(1);
+        }
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            assertThat(userRepository.findById(userId).orElseThrow().getUsername()).isEqualTo(username);
+            assertThat(stats.getStatementCount()).as(stats.toString()).isZero();
+        }
+    }
+
+    @Test
+    void findByUsernameIsServedFromTheCacheTheSecondTime() {
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            userRepository.findByUsername(username).orElseThrow();
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(1);
+        }
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            assertThat(userRepository.findByUsername(username).orElseThrow().getId()).isEqualTo(userId);
+            assertThat(stats.getStatementCount()).as(stats.toString()).isZero();
+        }
+    }
+
+    @Test
+    void anUpdateEvictsTheCachedUser() {
+        String oldHash = userRepository.findById(userId).orElseThrow().getPasswordHash();
+        assertThat(userRepository.updatePasswordHash(userId, oldHash, "$2a$04$replaced")).isEqualTo(1);
+
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            User user = userRepository.findById(userId).orElseThrow();
+            assertThat(user.getPasswordHash()).isEqualTo("$2a$04$replaced");
+            assertThat(stats.getStatementCount()).as(stats.toString()).isEqualTo(1);
+        }
+        try (SqlStatementStats stats = SqlStatements.capture()) {
+            userRepository.findByUsername(username).orElseThrow();
+            assertThat(stats.getStatementCount()).as(stats.toString()).isZero();
+        }
+    }
+}
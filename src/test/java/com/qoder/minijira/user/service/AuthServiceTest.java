@@ -0,0 +1,51 @@
+package com.qoder.minijira.user.service;
+
+import com.qoder.minijira.support.ApiTestSupport;
+import com.qoder.minijira.user.entity.User;
+import com.qoder.minijira.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The test profile hashes with cost 4; a stored hash of any other cost is replaced after the next login.
+ */
+class AuthServiceTest extends ApiTestSupport {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loginRehashesAPasswordStoredWithAnotherCost() throws Exception {
+        String username = "rehash" + System.nanoTime();
+        data(post("/api/auth/register"), Map.of(
+                "email", username + "@test.local", "username", username, "password", "secret123"));
+        User user = userRepository.findByUsername(username).orElseThrow();
+        String olderCost = new BCryptPasswordEncoder(5).encode("secret123");
+        assertThat(userRepository.updatePasswordHash(user.getId(), user.getPasswordHash(), olderCost)).isEqualTo(1);
+
+        assertThat(data(post("/api/auth/login"), Map.of("usernameOrEmail", username, "password", "secret123"))
+                .path("token").asText()).isNotEmpty();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> storedHash(user.getId()).startsWith("$2a$04$"));
+        assertThat(new BCryptPasswordEncoder().matches("secret123", storedHash(user.getId()))).isTrue();
+        // The new hash is used from now on.
+        assertThat(data(post("/api/auth/login"), Map.of("usernameOrEmail", username, "password", "secret123"))
+                .path("token").asText()).isNotEmpty();
+    }
+
+    private String storedHash(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE id = ?", String.class, userId);
+    }
+}
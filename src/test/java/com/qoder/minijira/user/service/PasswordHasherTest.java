@@ -0,0 +1,131 @@
+package com.qoder.minijira.user.service;
+
+import com.qoder.minijira.common.exception.GlobalExceptionHandler;
+import com.qoder.minijira.common.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each test runs a single hashing thread and parks it in a background callback, so every further
+ * request has to queue behind it.
+ */
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch workerReleased = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void releaseWorker() {
+        workerReleased.countDown();
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void aFullQueueIsRejectedAsBusy() throws Exception {
+        hasher = new PasswordHasher(4, 1, 2, 10_000, meterRegistry);
+        blockWorker();
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> queued() == 2);
+
+        assertThatThrownBy(() -> hasher.matches("c", first.getNow("")))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+        workerReleased.countDown();
+        assertThat(hasher.matches("a", first.get(5, TimeUnit.SECONDS))).isTrue();
+        assertThat(hasher.matches("b", second.get(5, TimeUnit.SECONDS))).isTrue();
+    }
+
+    @Test
+    void waitingPastTheTimeoutIsRejectedAsBusy() throws Exception {
+        hasher = new PasswordHasher(4, 1, 8, 100, meterRegistry);
+        blockWorker();
+
+        assertThatThrownBy(() -> hasher.encode("a")).isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        // The timed-out request is cancelled instead of hashing once the worker frees up.
+        workerReleased.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> queued() == 0);
+        assertThat(meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void aSaturatedHasherAnswersWithServiceBusy() throws Exception {
+        hasher = new PasswordHasher(4, 1, 8, 100, meterRegistry);
+        blockWorker();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new HashController(hasher))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(post("/hash"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value(ServiceBusyException.CODE));
+    }
+
+    @Test
+    void hashesOfAnotherCostNeedRehashing() {
+        hasher = new PasswordHasher(5, 1, 8, 1000, meterRegistry);
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(hasher.needsRehash("plain-text")).isTrue();
+    }
+
+    private void blockWorker() {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        assertThat(hasher.encodeInBackground("blocker", hash -> {
+            workerBusy.countDown();
+            try {
+                workerReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> workerBusy.getCount() == 0);
+    }
+
+    private double queued() {
+        return meterRegistry.get("auth.password.queue").gauge().value();
+    }
+
+    @RestController
+    static class HashController {
+
+        private final PasswordHasher hasher;
+
+        HashController(PasswordHasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @PostMapping("/hash")
+        String hash() {
+            return hasher.encode("secret");
+        }
+    }
+}